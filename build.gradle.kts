@@ -4,6 +4,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.7"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.mysite"
@@ -41,8 +42,36 @@ dependencies {
     implementation ("org.springframework.boot:spring-boot-starter-security")
     implementation ("org.thymeleaf.extras:thymeleaf-extras-springsecurity6")
     implementation("org.commonmark:commonmark:0.21.0")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    // @Timed 처리(TimedAspect)
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    // Hibernate 세션/2차 캐시 통계를 Micrometer 메트릭으로 노출
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// 성능 회귀 측정용 JMH 벤치마크 (src/jmh). 예: ./gradlew jmh -PjmhIncludes=Markdown -PjmhQuestions=1000,100000
+// 결과는 커밋 간 비교할 수 있도록 JSON으로 저장한다. (-PjmhResults로 경로 변경)
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // 할당량(gc.alloc.rate.norm)을 함께 측정
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = providers.gradleProperty("jmhResults")
+        .map { layout.projectDirectory.file(it) }
+        .orElse(layout.buildDirectory.file("results/jmh/results.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = it.split(",") }
+    providers.gradleProperty("jmhQuestions").orNull?.let {
+        benchmarkParameters.put("questions", objects.listProperty<String>().value(it.split(",")))
+    }
+}
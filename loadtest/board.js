@@ -0,0 +1,41 @@
+// 질문 목록/상세 조회 혼합 부하 테스트 (k6).
+// 예: k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 -e MAX_ID=1000 loadtest/board.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const MAX_ID = parseInt(__ENV.MAX_ID || '300', 10);
+const HOLD = __ENV.HOLD || '2m';
+
+export const options = {
+    scenarios: {
+        browse: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: HOLD, target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    // 상세 80%, 목록 20%
+    if (Math.random() < 0.8) {
+        const id = 1 + Math.floor(Math.random() * MAX_ID);
+        const res = http.get(`${BASE_URL}/question/detail/${id}`, { tags: { page: 'detail' } });
+        check(res, { 'detail 200/404': (r) => r.status === 200 || r.status === 404 });
+    } else {
+        const page = Math.floor(Math.random() * 5);
+        const res = http.get(`${BASE_URL}/question/list?page=${page}`, { tags: { page: 'list' } });
+        check(res, { 'list 200': (r) => r.status === 200 });
+    }
+}
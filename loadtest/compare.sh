@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# 같은 부하(1000/2000/5000/10000 VU)를 실행 중인 서버에 걸고 결과 요약을 JSON으로 저장한다.
+# 플랫폼 스레드 모드와 가상 스레드 모드(vthreads 프로필)로 각각 서버를 띄운 뒤 LABEL만 바꿔 실행하여 비교한다.
+#   LABEL=platform ./loadtest/compare.sh
+#   LABEL=vthreads ./loadtest/compare.sh
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+LABEL=${LABEL:-platform}
+LEVELS=${LEVELS:-"1000 2000 5000 10000"}
+OUT_DIR=${OUT_DIR:-loadtest/results}
+
+mkdir -p "$OUT_DIR"
+for vus in $LEVELS; do
+    echo "== $LABEL: $vus VUs"
+    k6 run --quiet \
+        -e BASE_URL="$BASE_URL" -e VUS="$vus" \
+        --summary-export "$OUT_DIR/$LABEL-$vus.json" \
+        "$(dirname "$0")/board.js" || true
+done
+echo "results written to $OUT_DIR"
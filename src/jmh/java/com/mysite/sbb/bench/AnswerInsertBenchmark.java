@@ -0,0 +1,66 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.user.SiteUser;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA(persist)로 답변 1,000,000건을 저장하는 시간을 측정한다.
+ * 결과는 답변 1건당 시간(µs)이므로 초당 insert 수는 1,000,000 / 점수 로 구한다.
+ * 1,000건마다 flush/clear 하여 영속성 컨텍스트 크기를 일정하게 유지하고, 10,000건마다 커밋한다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class AnswerInsertBenchmark {
+
+    private static final int ANSWERS = 1_000_000;
+    private static final int FLUSH_INTERVAL = 1_000;
+    private static final int COMMIT_INTERVAL = 10_000;
+    private static final String CONTENT = BenchData.markdown(2, 42);
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public int insertAnswers(InsertState state) {
+        String contentHtml = "<p>" + CONTENT + "</p>";
+        LocalDateTime now = LocalDateTime.now();
+        EntityManager entityManager = state.entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < ANSWERS; i++) {
+                Answer answer = new Answer();
+                answer.setQuestion(entityManager.getReference(Question.class,
+                        state.questionIds.get(i % state.questionIds.size())));
+                answer.setAuthor(entityManager.getReference(SiteUser.class, 1 + i % BoardState.USERS));
+                answer.setContent(CONTENT);
+                answer.setContentHtml(contentHtml);
+                answer.setCreateDate(now);
+                entityManager.persist(answer);
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+                if ((i + 1) % COMMIT_INTERVAL == 0) {
+                    entityManager.getTransaction().commit();
+                    entityManager.getTransaction().begin();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+        return ANSWERS;
+    }
+}
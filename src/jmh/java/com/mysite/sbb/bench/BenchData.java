@@ -0,0 +1,59 @@
+package com.mysite.sbb.bench;
+
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 마크다운 문서와 검색어를 만든다. 같은 seed면 항상 같은 내용을 만든다.
+ */
+final class BenchData {
+
+    // 생성하는 글과 검색 벤치마크가 같은 단어를 사용하도록 공유한다.
+    static final String[] WORDS = {
+            "스프링", "부트", "질문", "답변", "트랜잭션", "엔티티", "페이징", "캐시", "검색", "추천",
+            "spring", "boot", "jpa", "hibernate", "query", "index", "thymeleaf", "security", "h2", "markdown"
+    };
+
+    private BenchData() {
+    }
+
+    /**
+     * 제목, 목록, 인용, 코드 블록, 링크가 섞인 마크다운 문서를 만든다.
+     * @param paragraphs 문단 수 (문서 크기).
+     */
+    static String markdown(int paragraphs, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            switch (i % 5) {
+                case 0 -> sb.append("## ").append(sentence(random, 4)).append("\n\n");
+                case 1 -> {
+                    for (int j = 0; j < 3; j++) {
+                        sb.append("- **").append(word(random)).append("** ").append(sentence(random, 6)).append('\n');
+                    }
+                    sb.append('\n');
+                }
+                case 2 -> sb.append("> ").append(sentence(random, 12)).append("\n\n");
+                case 3 -> sb.append("```java\nint ").append(word(random).length() > 3 ? "count" : "id")
+                        .append(" = repository.count();\n```\n\n");
+                default -> sb.append(sentence(random, 20)).append(" [링크](https://example.com/")
+                        .append(i).append(") `code`\n\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    static String sentence(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word(random));
+        }
+        return sb.toString();
+    }
+
+    static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
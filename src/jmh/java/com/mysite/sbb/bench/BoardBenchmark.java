@@ -0,0 +1,110 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.answer.AnswerSort;
+import com.mysite.sbb.question.QuestionDetail;
+import com.mysite.sbb.question.QuestionListItem;
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteTarget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 목록(번호 페이지), 상세 화면 조립, 추천 insert 경로를 seed 데이터 크기별로 측정한다.
+ * 상세는 스냅샷 캐시(QuestionDetailCache)를 거치지 않고 QuestionDetailLoader로 직접 조립한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardBenchmark {
+
+    // 스레드별로 조회할 질문/페이지를 고른다.
+    @State(Scope.Thread)
+    public static class Picker {
+        private final SplittableRandom random = new SplittableRandom(7);
+        private List<Integer> questionIds;
+        private int pages;
+
+        @Setup(Level.Trial)
+        public void setUp(BoardState board) {
+            questionIds = board.questionIds();
+            pages = Math.max(1, questionIds.size() / 10);
+        }
+
+        int questionId() {
+            return questionIds.get(random.nextInt(questionIds.size()));
+        }
+
+        int page() {
+            return random.nextInt(pages);
+        }
+    }
+
+    // 추천할 (질문, 사용자) 쌍을 차례로 만든다. 반복(iteration)마다 추천 테이블을 비워 항상 새 추천을 insert 한다.
+    @State(Scope.Benchmark)
+    public static class Votes {
+        private final AtomicLong sequence = new AtomicLong();
+        private List<Integer> questionIds;
+        private List<Integer> userIds;
+
+        @Setup(Level.Trial)
+        public void setUp(BoardState board) {
+            questionIds = board.questionIds();
+            userIds = board.jdbcTemplate.queryForList("select id from site_user order by id", Integer.class);
+        }
+
+        @Setup(Level.Iteration)
+        public void reset(BoardState board) {
+            board.jdbcTemplate.update("delete from question_voter");
+            sequence.set(0);
+        }
+
+        long next() {
+            return sequence.getAndIncrement();
+        }
+
+        int questionId(long n) {
+            return questionIds.get((int) (n % questionIds.size()));
+        }
+
+        int userId(long n) {
+            return userIds.get((int) ((n / questionIds.size()) % userIds.size()));
+        }
+    }
+
+    @Benchmark
+    public Page<QuestionListItem> list(BoardState board, Picker picker) {
+        return board.questionService.getList(picker.page(), "");
+    }
+
+    @Benchmark
+    public Page<QuestionListItem> listFirstPage(BoardState board) {
+        return board.questionService.getList(0, "");
+    }
+
+    @Benchmark
+    public QuestionDetail detail(BoardState board, Picker picker) {
+        return board.questionDetailLoader.load(picker.questionId(), 0, AnswerSort.LATEST);
+    }
+
+    @Benchmark
+    public QuestionDetail detailByVotes(BoardState board, Picker picker) {
+        return board.questionDetailLoader.load(picker.questionId(), 0, AnswerSort.VOTES);
+    }
+
+    @Benchmark
+    public VoteResult vote(BoardState board, Votes votes) {
+        long n = votes.next();
+        return board.voteService.vote(VoteTarget.QUESTION, votes.questionId(n), votes.userId(n));
+    }
+}
@@ -0,0 +1,136 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.CommonUtil;
+import com.mysite.sbb.IdSequenceAligner;
+import com.mysite.sbb.SbbApplication;
+import com.mysite.sbb.question.QuestionDetailLoader;
+import com.mysite.sbb.question.QuestionService;
+import com.mysite.sbb.search.SearchService;
+import com.mysite.sbb.vote.VoteService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 메모리 H2에 질문 questions건(답변은 질문당 0~6건, 사용자 USERS명)을 넣은 애플리케이션 컨텍스트.
+ * 벤치마크 설정(trial)마다 한 번 띄우고, 데이터는 같은 seed로 만들어 실행 간 비교가 가능하다.
+ * 캐시가 아니라 쿼리 자체를 측정하도록 목록 캐시와 화면 캐시는 끄고, SQL 로그도 끈다.
+ */
+@State(Scope.Benchmark)
+public class BoardState {
+
+    static final int USERS = 1000;
+    private static final int MAX_ANSWERS = 6;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000", "10000"})
+    int questions;
+
+    ConfigurableApplicationContext context;
+    JdbcTemplate jdbcTemplate;
+    QuestionService questionService;
+    QuestionDetailLoader questionDetailLoader;
+    VoteService voteService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--logging.level.root=WARN",
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--sbb.markdown.backfill.enabled=false",
+                "--sbb.sql.slow.sample-rate=0",
+                "--sbb.list.cache.pages=0",
+                "--sbb.page-cache.enabled=false"));
+        args.addAll(properties());
+        context = new SpringApplicationBuilder(SbbApplication.class).run(args.toArray(String[]::new));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        questionService = context.getBean(QuestionService.class);
+        questionDetailLoader = context.getBean(QuestionDetailLoader.class);
+        voteService = context.getBean(VoteService.class);
+        seed(context.getBean(CommonUtil.class));
+        context.getBean(IdSequenceAligner.class).alignAll();
+        // 기동 시 만든 색인에는 seed 데이터가 없으므로 다시 만든다.
+        context.getBean(SearchService.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // 상태별로 덧붙일 설정 (예: SearchState의 검색 방식)
+    List<String> properties() {
+        return List.of();
+    }
+
+    private void seed(CommonUtil commonUtil) {
+        // 기동 시 TestInitData가 넣은 예제 데이터를 지우고 ID를 1부터 직접 배정한다.
+        jdbcTemplate.update("delete from answer");
+        jdbcTemplate.update("delete from question");
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "bench" + i, "bench" + i + "@sbb.com", "password"});
+        }
+        jdbcTemplate.batchUpdate("insert into site_user (id, username, email, password) values (?, ?, ?, ?)", users);
+        List<Integer> userIds = jdbcTemplate.queryForList("select id from site_user order by id", Integer.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int[] answerCounts = new int[questions];
+        for (int i = 0; i < questions; i++) {
+            String content = BenchData.markdown(1 + random.nextInt(10), random.nextLong());
+            answerCounts[i] = random.nextInt(MAX_ANSWERS + 1);
+            batch.add(new Object[]{i + 1, BenchData.sentence(random, 5), content, commonUtil.render(content),
+                    Timestamp.valueOf(start.plusMinutes(i)), userIds.get(random.nextInt(userIds.size())), answerCounts[i]});
+            if (batch.size() == BATCH_SIZE) {
+                insertQuestions(batch);
+            }
+        }
+        insertQuestions(batch);
+
+        int answerId = 0;
+        for (int i = 0; i < questions; i++) {
+            for (int j = 0; j < answerCounts[i]; j++) {
+                String content = BenchData.markdown(1 + random.nextInt(3), random.nextLong());
+                batch.add(new Object[]{++answerId, i + 1, content, commonUtil.render(content),
+                        Timestamp.valueOf(start.plusMinutes(i).plusSeconds(j + 1)), userIds.get(random.nextInt(userIds.size()))});
+                if (batch.size() == BATCH_SIZE) {
+                    insertAnswers(batch);
+                }
+            }
+        }
+        insertAnswers(batch);
+    }
+
+    private void insertQuestions(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into question (id, subject, content, content_html, create_date, author_id, answer_count, vote_count) "
+                + "values (?, ?, ?, ?, ?, ?, ?, 0)", batch);
+        batch.clear();
+    }
+
+    private void insertAnswers(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into answer (id, question_id, content, content_html, create_date, author_id, vote_count) "
+                + "values (?, ?, ?, ?, ?, ?, 0)", batch);
+        batch.clear();
+    }
+
+    List<Integer> questionIds() {
+        return jdbcTemplate.queryForList("select id from question order by id", Integer.class);
+    }
+}
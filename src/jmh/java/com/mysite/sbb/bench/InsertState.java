@@ -0,0 +1,48 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+/**
+ * 답변 대량 insert 벤치마크용 컨텍스트.
+ * batchSize=1은 JDBC batch 없이 insert마다 왕복하는 경우(IDENTITY 전략을 쓰던 때와 같은 왕복 수),
+ * 50은 기본 설정(SEQUENCE pooled-lo + hibernate.jdbc.batch_size=50)이다.
+ */
+@State(Scope.Benchmark)
+public class InsertState extends BoardState {
+
+    @Param({"1", "50"})
+    int batchSize;
+
+    EntityManagerFactory entityManagerFactory;
+    List<Integer> questionIds;
+    private int lastSeededAnswerId;
+
+    @Override
+    List<String> properties() {
+        return List.of("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+    }
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        questionIds = questionIds();
+        lastSeededAnswerId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from answer", Integer.class);
+    }
+
+    // 반복마다 같은 크기의 테이블에 insert 하도록 벤치마크가 넣은 답변을 지운다.
+    @TearDown(Level.Iteration)
+    public void removeInserted() {
+        jdbcTemplate.update("delete from answer where id > ?", lastSeededAnswerId);
+        context.getBean(EntityCacheEvictor.class).evictAll(Answer.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.Pagination;
+import com.mysite.sbb.question.QuestionListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.linkbuilder.StandardLinkBuilder;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 화면(question_list) 렌더링 시간과 할당량을 전체 행 수별로 비교한다. (빌드 설정의 gc 프로파일러로 gc.alloc.rate.norm 측정)
+ * - sequence: Pagination 모델 도입 전 템플릿. 전체 페이지 수만큼 #numbers.sequence를 만들고 th:if로 걸러낸다.
+ * - pagination: 컨트롤러가 계산한 Pagination(현재 페이지 주변 번호)만 그리는 현재 템플릿.
+ * DB 조회와 레이아웃(layout:decorate)은 빼고 목록 템플릿 자체만 렌더링한다. 한 페이지의 행(10건)은 두 방식이 같다.
+ * 예: ./gradlew jmh -PjmhIncludes=ListRender
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListRenderBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int OFFSET_PAGE_LIMIT = 20;
+
+    @State(Scope.Benchmark)
+    public static class Templates {
+        @Param({"1000", "100000", "10000000"})
+        long rows;
+
+        SpringTemplateEngine engine;
+        Context sequence;
+        Context pagination;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+            resolver.setPrefix("templates/");
+            resolver.setSuffix(".html");
+            resolver.setTemplateMode(TemplateMode.HTML);
+            resolver.setCharacterEncoding("UTF-8");
+            resolver.setCacheable(true);
+            engine = new SpringTemplateEngine();
+            engine.setTemplateResolver(resolver);
+            // 서블릿 요청 없이 @{/...} 링크를 만들 수 있도록 컨텍스트 경로를 빈 값으로 둔다.
+            engine.setLinkBuilder(new StandardLinkBuilder() {
+                @Override
+                protected String computeContextPath(IExpressionContext context, String base, Map<String, Object> parameters) {
+                    return "";
+                }
+            });
+
+            List<QuestionListItem> questions = new ArrayList<>(PAGE_SIZE);
+            LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                questions.add(new QuestionListItem((int) Math.min(rows - i, Integer.MAX_VALUE),
+                        "질문 제목 " + i, "bench" + i, now.minusMinutes(i), i % 3));
+            }
+            Page<QuestionListItem> paging = new PageImpl<>(questions, PageRequest.of(0, PAGE_SIZE), rows);
+
+            sequence = new Context();
+            sequence.setVariable("questions", questions);
+            sequence.setVariable("paging", paging);
+            sequence.setVariable("kw", "");
+            sequence.setVariable("offsetPageLimit", OFFSET_PAGE_LIMIT);
+
+            pagination = new Context();
+            pagination.setVariable("questions", questions);
+            pagination.setVariable("paging", paging);
+            pagination.setVariable("kw", "");
+            pagination.setVariable("pagination", Pagination.ofPage(paging, Pagination.DEFAULT_WINDOW, OFFSET_PAGE_LIMIT, null));
+        }
+    }
+
+    @Benchmark
+    public String sequence(Templates templates) {
+        return templates.engine.process("bench/question_list_sequence", templates.sequence);
+    }
+
+    @Benchmark
+    public String pagination(Templates templates) {
+        return templates.engine.process("question_list", templates.pagination);
+    }
+}
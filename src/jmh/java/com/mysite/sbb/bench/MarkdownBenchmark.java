@@ -0,0 +1,47 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.CommonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommonUtil의 마크다운 렌더링 비용을 문서 크기별로 측정한다.
+ * render: 저장 시점 렌더링(파싱 + HTML 생성), markdown: content_html이 없는 예전 데이터의 캐시 적중 경로(해시 + 조회).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkdownBenchmark {
+
+    // 문단 수: 짧은 답변, 보통 질문, 긴 문서
+    @Param({"1", "20", "200"})
+    int paragraphs;
+
+    private CommonUtil commonUtil;
+    private String document;
+
+    @Setup
+    public void setUp() {
+        commonUtil = new CommonUtil(1000);
+        document = BenchData.markdown(paragraphs, 42);
+        commonUtil.markdown(document);
+    }
+
+    @Benchmark
+    public String render() {
+        return commonUtil.render(document);
+    }
+
+    @Benchmark
+    public String markdownCached() {
+        return commonUtil.markdown(document);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mysite.sbb.bench;
+
+import com.mysite.sbb.question.QuestionListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색어 목록 조회를 색인 검색(index)과 LIKE 조인 쿼리(jpql)로 나누어 측정한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @State(Scope.Thread)
+    public static class Keywords {
+        private final SplittableRandom random = new SplittableRandom(11);
+
+        String next() {
+            return BenchData.word(random);
+        }
+    }
+
+    @Benchmark
+    public Page<QuestionListItem> search(SearchState state, Keywords keywords) {
+        return state.questionService.getList(0, keywords.next());
+    }
+
+    // 여러 단어 검색어: 색인에서는 교집합, LIKE에서는 거의 일치하지 않는 전체 스캔이 된다.
+    @Benchmark
+    public Page<QuestionListItem> searchPhrase(SearchState state, Keywords keywords) {
+        return state.questionService.getList(0, keywords.next() + " " + keywords.next());
+    }
+}
@@ -0,0 +1,22 @@
+package com.mysite.sbb.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 검색 벤치마크용 컨텍스트. 색인 검색(index)과 LIKE 조인 쿼리(jpql)를 같은 데이터로 비교한다.
+ */
+@State(Scope.Benchmark)
+public class SearchState extends BoardState {
+
+    @Param({"index", "jpql"})
+    String searchMode;
+
+    @Override
+    List<String> properties() {
+        return List.of("--sbb.search.mode=" + searchMode);
+    }
+}
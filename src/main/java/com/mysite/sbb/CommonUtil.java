@@ -1,21 +1,116 @@
 package com.mysite.sbb;
 
 
+import com.mysite.sbb.jfr.MarkdownEvent;
+import com.mysite.sbb.timing.RequestTiming;
+import io.micrometer.core.annotation.Timed;
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
 // CommonUtil 클래스를 스프링 부트가 관리하는 빈으로 등록
 // 템플릿에서 ${@빈네임.메서드} 식으로 사용할 수 있다
 @Component
 public class CommonUtil {
+    // commonmark의 Parser와 HtmlRenderer는 불변(thread-safe) 객체이므로 한 번만 만들어 재사용한다.
+    private static final Parser PARSER = Parser.builder().build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    // 내용 해시 -> 렌더링된 HTML. 미리 렌더링된 HTML이 없는 예전 데이터를 위한 LRU 캐시.
+    private final Map<String, String> cache;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+
+    public CommonUtil(@Value("${sbb.markdown.cache-size:1000}") int cacheSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
     //  markdown 메서드는 마크다운 텍스트를 HTML 문서로 변환하여 리턴
+    //  같은 내용은 다시 파싱하지 않도록 내용 해시를 키로 캐시한다.
+    //  (실행 시간은 sbb.markdown{method=markdown} 타이머, 캐시 적중 포함)
+    @Timed(value = "sbb.markdown", histogram = true)
     public String markdown(String markdown) {
-        Parser parser = Parser.builder().build();
-        Node document = parser.parse(markdown);
-        HtmlRenderer renderer = HtmlRenderer.builder().build();
+        if (markdown == null) {
+            return "";
+        }
+        MarkdownEvent event = new MarkdownEvent();
+        event.begin();
+        long started = System.nanoTime();
+        String html = cached(markdown);
+        RequestTiming.recordMarkdown(System.nanoTime() - started);
+        commit(event, markdown, html, true);
+        return html;
+    }
+
+    private String cached(String markdown) {
+        String key = hash(markdown);
+        cacheLock.lock();
+        try {
+            String html = cache.get(key);
+            if (html != null) {
+                return html;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        String html = convert(markdown);
+        cacheLock.lock();
+        try {
+            cache.put(key, html);
+        } finally {
+            cacheLock.unlock();
+        }
+        return html;
+    }
+
+    // render 메서드는 캐시를 거치지 않고 바로 변환한다. 질문/답변 저장 시 HTML을 미리 만들어 둘 때 사용
+    @Timed(value = "sbb.markdown", histogram = true)
+    public String render(String markdown) {
+        MarkdownEvent event = new MarkdownEvent();
+        event.begin();
+        long started = System.nanoTime();
+        String html = convert(markdown);
+        RequestTiming.recordMarkdown(System.nanoTime() - started);
+        commit(event, markdown, html, false);
+        return html;
+    }
+
+    // JFR 기록 중일 때만 필드를 채워 남긴다.
+    private static void commit(MarkdownEvent event, String markdown, String html, boolean cached) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.inputLength = markdown == null ? 0 : markdown.length();
+            event.outputLength = html.length();
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
+    private static String convert(String markdown) {
+        Node document = PARSER.parse(markdown == null ? "" : markdown);
+        return RENDERER.render(document);
+    }
 
-        return renderer.render(document);
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,108 @@
+package com.mysite.sbb;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.question.Question;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 비정규화된 답변 수(answer_count)와 추천 수(vote_count)를 실제 답변/추천 테이블과 비교하여 어긋난 행만 바로잡는 작업.
+ * 카운터 컬럼이 추가되기 전의 데이터도 채워야 하므로 기동 시 한 번(TaskExecutor에서, 기동을 막지 않음) 실행하고,
+ * 이후에는 sbb.counter.reconcile-cron 주기로 실행한다.
+ * 전체 테이블을 한 문장으로 갱신하지 않고 ID 구간(batch-size)별로 나누어, 구간마다 집계 서브쿼리를 한 번 조인해
+ * 어긋난 행만 읽은 뒤 그 행만 고친다. 각 문장은 자동 커밋되므로 긴 트랜잭션/잠금이 생기지 않는다.
+ */
+@Slf4j
+@Component
+public class CounterReconciliationJob implements ApplicationRunner {
+
+    /**
+     * 보정 대상 카운터 하나.
+     * @param table       카운터 컬럼이 있는 테이블.
+     * @param column      카운터 컬럼.
+     * @param childTable  실제 행을 세는 테이블.
+     * @param childColumn childTable에서 table의 ID를 가리키는 컬럼.
+     */
+    private record Counter(String table, String column, String childTable, String childColumn, Class<?> entityClass) {
+    }
+
+    private static final List<Counter> COUNTERS = List.of(
+            new Counter("question", "answer_count", "answer", "question_id", Question.class),
+            new Counter("question", "vote_count", "question_voter", "question_id", Question.class),
+            new Counter("answer", "vote_count", "answer_voter", "answer_id", Answer.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final TaskExecutor taskExecutor;
+    private final int batchSize;
+
+    public CounterReconciliationJob(JdbcTemplate jdbcTemplate, EntityCacheEvictor entityCacheEvictor, TaskExecutor taskExecutor,
+                                    @Value("${sbb.counter.reconcile-batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskExecutor.execute(this::reconcile);
+    }
+
+    @Scheduled(cron = "${sbb.counter.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        List<String> repaired = new ArrayList<>();
+        for (Counter counter : COUNTERS) {
+            int count = reconcile(counter);
+            if (count > 0) {
+                repaired.add(counter.table() + "." + counter.column() + "=" + count);
+            }
+        }
+        if (!repaired.isEmpty()) {
+            log.warn("counter drift repaired: {} in {} ms", String.join(", ", repaired), System.currentTimeMillis() - started);
+        }
+    }
+
+    private int reconcile(Counter counter) {
+        Integer maxId = jdbcTemplate.queryForObject("select max(id) from " + counter.table(), Integer.class);
+        if (maxId == null) {
+            return 0;
+        }
+        // 구간 안의 실제 행 수는 그룹 서브쿼리에서 한 번만 센다.
+        String drifted = "select t.id, t." + counter.column() + ", coalesce(c.cnt, 0) from " + counter.table() + " t "
+                + "left join (select " + counter.childColumn() + " as id, count(*) as cnt from " + counter.childTable()
+                + " where " + counter.childColumn() + " > ? and " + counter.childColumn() + " <= ? group by "
+                + counter.childColumn() + ") c on c.id = t.id "
+                + "where t.id > ? and t.id <= ? and t." + counter.column() + " <> coalesce(c.cnt, 0)";
+        // 읽은 뒤에 추천/답변이 들어와 값이 바뀌었으면 고치지 않는다. (그 쓰기는 행과 카운터를 함께 커밋하므로 어긋나지 않음)
+        String repair = "update " + counter.table() + " set " + counter.column() + " = ? where id = ? and " + counter.column() + " = ?";
+        int repaired = 0;
+        for (long from = 0; from < maxId; from += batchSize) {
+            long to = Math.min(from + batchSize, maxId);
+            List<Object[]> rows = jdbcTemplate.query(drifted,
+                    (rs, rowNum) -> new Object[]{rs.getInt(3), rs.getInt(1), rs.getInt(2)}, from, to, from, to);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            int[] updated = jdbcTemplate.batchUpdate(repair, rows);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] > 0) {
+                    entityCacheEvictor.evict(counter.entityClass(), rows.get(i)[1]);
+                    repaired++;
+                }
+            }
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mysite.sbb;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 엔티티 ID 시퀀스(question_seq, answer_seq, site_user_seq)를 테이블의 최대 ID 뒤로 맞추는 작업.
+ * IDENTITY 전략으로 쌓인 기존 데이터나, ID를 직접 넣는 JDBC 대량 insert(DatasetGenerator 등) 뒤에
+ * 시퀀스가 이미 사용된 ID를 다시 내주지 않도록 한다. 기동 시 한 번 실행되고, 대량 insert 후에는 직접 호출한다.
+ * pooled-lo 방식은 시퀀스 값을 할당 구간의 시작 값으로 쓰므로 "최대 ID + 1"부터 다시 시작하면 된다.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    // 테이블 -> 시퀀스
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "question", "question_seq",
+            "answer", "answer_seq",
+            "site_user", "site_user_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory를 주입받아 Hibernate가 스키마(시퀀스 생성)를 마친 뒤에 실행되도록 한다.
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignAll() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    private void align(String table, String sequence) {
+        Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        List<Long> next = jdbcTemplate.queryForList(
+                "select base_value from information_schema.sequences where lower(sequence_name) = ?", Long.class, sequence);
+        if (next.isEmpty()) {
+            log.warn("id sequence {} not found; skipping alignment of {}", sequence, table);
+            return;
+        }
+        if (next.get(0) <= max) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (max + 1));
+            log.info("id sequence {} moved from {} to {} (max {}.id)", sequence, next.get(0), max + 1, table);
+        }
+    }
+}
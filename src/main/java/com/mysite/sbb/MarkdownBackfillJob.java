@@ -0,0 +1,82 @@
+package com.mysite.sbb;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.question.Question;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 렌더링된 HTML(content_html)이 없는 기존 질문/답변을 찾아 마크다운을 미리 렌더링해 두는 백필 작업.
+ * 애플리케이션 기동 후 백그라운드 스레드에서 ID 순으로 batch-size 건씩 읽고, 한 번의 batch update로 저장한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkdownBackfillJob implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CommonUtil commonUtil;
+    private final TaskExecutor taskExecutor;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    @Value("${sbb.markdown.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sbb.markdown.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            int questions = backfill("question");
+            int answers = backfill("answer");
+            // JDBC로 채운 content_html이 2차 캐시의 예전 엔티티에 가려지지 않도록 비운다.
+            if (questions > 0) {
+                entityCacheEvictor.evictAll(Question.class);
+            }
+            if (answers > 0) {
+                entityCacheEvictor.evictAll(Answer.class);
+            }
+            log.info("markdown backfill finished: {} questions, {} answers", questions, answers);
+        });
+    }
+
+    /**
+     * 테이블 하나의 content_html을 채운다.
+     * @param table question 또는 answer.
+     * @return 렌더링한 행 수.
+     */
+    int backfill(String table) {
+        int total = 0;
+        int lastId = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "select id, content from " + table + " where content_html is null and id > ? order by id limit ?",
+                    (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getString(2)},
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                return total;
+            }
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                updates.add(new Object[]{commonUtil.render((String) row[1]), row[0]});
+                lastId = (Integer) row[0];
+            }
+            jdbcTemplate.batchUpdate("update " + table + " set content_html = ? where id = ? and content_html is null", updates);
+            total += rows.size();
+        }
+    }
+}
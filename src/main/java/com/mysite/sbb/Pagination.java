@@ -0,0 +1,100 @@
+package com.mysite.sbb;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 목록 화면 하단의 페이지 이동 링크 모델.
+ * 템플릿에서 전체 페이지 수만큼 반복(#numbers.sequence)하지 않도록, 화면에 실제로 그릴
+ * 현재 페이지 주변의 번호(window)와 처음/이전/다음/마지막 링크만 컨트롤러에서 계산해 전달한다.
+ * 번호(OFFSET) 방식과 커서 방식 목록에서 모두 사용한다.
+ */
+@Getter
+public class Pagination {
+
+    // 현재 페이지 앞뒤로 보여줄 페이지 번호 개수.
+    public static final int DEFAULT_WINDOW = 5;
+
+    /**
+     * 페이지 이동 링크 하나. 번호 방식이면 page, 커서 방식이면 cursor/dir 값을 가진다.
+     * @param page   이동할 페이지 번호 (커서 방식이면 null).
+     * @param cursor 이동 기준 커서 (번호 방식이면 null).
+     * @param dir    커서 이동 방향 (next/prev).
+     */
+    public record Link(Integer page, String cursor, String dir) {
+        static Link page(int page) {
+            return new Link(page, null, null);
+        }
+
+        static Link cursor(String cursor, String dir) {
+            return new Link(null, cursor, dir);
+        }
+    }
+
+    private final List<Integer> pages;
+    // 현재 페이지 번호 (커서 방식이면 -1).
+    private final int current;
+    private final Link first;
+    private final Link previous;
+    private final Link next;
+    private final Link last;
+
+    private Pagination(List<Integer> pages, int current, Link first, Link previous, Link next, Link last) {
+        this.pages = pages;
+        this.current = current;
+        this.first = first;
+        this.previous = previous;
+        this.next = next;
+        this.last = last;
+    }
+
+    /**
+     * 번호(OFFSET) 방식 페이지로부터 이동 링크를 만든다.
+     * @param page       현재 페이지.
+     * @param window     현재 페이지 앞뒤로 보여줄 번호 개수.
+     * @param maxPages   번호로 이동할 수 있는 최대 페이지 수 (제한이 없으면 Integer.MAX_VALUE).
+     * @param nextCursor 번호 방식의 마지막 허용 페이지에서 다음 페이지를 커서 방식으로 이어갈 커서 (없으면 null).
+     */
+    public static Pagination ofPage(Page<?> page, int window, int maxPages, String nextCursor) {
+        int current = page.getNumber();
+        int lastAllowed = Math.max(0, Math.min(page.getTotalPages(), maxPages) - 1);
+        int from = Math.max(0, current - window);
+        int to = Math.min(lastAllowed, current + window);
+        List<Integer> pages = new ArrayList<>(Math.max(0, to - from + 1));
+        for (int i = from; i <= to; i++) {
+            pages.add(i);
+        }
+        Link next = null;
+        if (current < lastAllowed) {
+            next = Link.page(current + 1);
+        } else if (nextCursor != null) {
+            next = Link.cursor(nextCursor, "next");
+        }
+        // 마지막 페이지가 번호 이동 제한 안에 있을 때만 '마지막' 링크를 제공한다.
+        Link last = page.getTotalPages() <= maxPages && to < lastAllowed ? Link.page(lastAllowed) : null;
+        return new Pagination(pages, current,
+                from > 0 ? Link.page(0) : null,
+                current > 0 ? Link.page(current - 1) : null,
+                next, last);
+    }
+
+    /**
+     * 커서 방식 페이지로부터 이동 링크를 만든다. 전체 페이지 수를 알 수 없으므로 번호와 '마지막' 링크는 없다.
+     * @param previousCursor 이전(더 최신) 페이지 커서 (없으면 null).
+     * @param nextCursor     다음(더 오래된) 페이지 커서 (없으면 null).
+     */
+    public static Pagination ofCursor(String previousCursor, String nextCursor) {
+        return new Pagination(List.of(), -1,
+                Link.page(0),
+                previousCursor != null ? Link.cursor(previousCursor, "prev") : null,
+                nextCursor != null ? Link.cursor(nextCursor, "next") : null,
+                null);
+    }
+
+    public boolean isEmpty() {
+        return pages.isEmpty() && previous == null && next == null;
+    }
+}
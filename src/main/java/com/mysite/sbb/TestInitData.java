@@ -8,10 +8,13 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+// 예제용 질문 2건. 대량 데이터는 seed 프로필의 DatasetGenerator가 만든다.
+@Profile("!seed")
 @Configuration
 @RequiredArgsConstructor
 public class TestInitData {
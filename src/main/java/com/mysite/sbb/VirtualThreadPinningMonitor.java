@@ -0,0 +1,93 @@
+package com.mysite.sbb;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 모드(vthreads 프로필)에서 캐리어 스레드 고정(pinning)을 감지하는 모니터.
+ * JDK 21에서는 synchronized 블록 안에서 블로킹(I/O, 잠금 대기)하면 가상 스레드가 캐리어 스레드를 점유한 채로 멈춘다.
+ * JFR의 jdk.VirtualThreadPinned 이벤트를 실시간으로 구독하여 스택을 로그로 남기고,
+ * 고정이 일어난 지점을 부른 우리 코드(com.mysite.sbb)의 호출 위치별로 횟수를 센다.
+ * (우리 코드에는 synchronized가 없고 ReentrantLock만 사용한다. 남는 고정은 주로 H2/Hibernate 내부에서 발생한다.)
+ */
+@Slf4j
+@Profile("vthreads")
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.mysite.sbb.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    // 우리 코드의 호출 위치 -> 고정 횟수
+    private final Map<String, LongAdder> pinnedByCallSite = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${sbb.vthreads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("virtual thread pinning monitor started (threshold {})", threshold);
+    }
+
+    // 종료 시 호출 위치별 고정 횟수를 요약하여 남긴다. (부하 테스트 후 어디를 고쳐야 하는지 확인용)
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+        if (!pinnedByCallSite.isEmpty()) {
+            log.info("virtual thread pinning by call site: {}", getPinnedByCallSite());
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String callSite = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::format)
+                .orElse("(no application frame)");
+        pinnedByCallSite.computeIfAbsent(callSite, key -> new LongAdder()).increment();
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n    at "));
+        log.warn("virtual thread pinned for {} ms (call site: {})\n    at {}",
+                event.getDuration().toMillis(), callSite, stack);
+    }
+
+    // 호출 위치별 고정 횟수 스냅샷
+    public Map<String, Long> getPinnedByCallSite() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        pinnedByCallSite.forEach((callSite, count) -> snapshot.put(callSite, count.sum()));
+        return snapshot;
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
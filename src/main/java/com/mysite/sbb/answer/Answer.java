@@ -5,36 +5,52 @@ import com.mysite.sbb.user.SiteUser;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 @Entity
+// 질문 상세 화면의 답변 페이지 조회(질문별 최신순/추천순)용 인덱스
+@Table(indexes = {
+        @Index(name = "idx_answer_question_create_date", columnList = "question_id, createDate"),
+        @Index(name = "idx_answer_question_vote_count", columnList = "question_id, voteCount")
+})
 @Setter
 @Getter
 public class Answer {
 
-    // PK + AUTO_INCREMENT
+    // PK. 시퀀스에서 50개씩 미리 할당(pooled-lo)하여 insert를 JDBC batch로 묶을 수 있게 한다.
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "answer_seq")
+    @SequenceGenerator(name = "answer_seq", sequenceName = "answer_seq", allocationSize = 50)
     private int id;
 
     private LocalDateTime createDate;
 
     private LocalDateTime ModifyDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Question question;
 
     @Column(columnDefinition = "TEXT")
     private String content;
 
-    @ManyToOne
+    // content를 마크다운 렌더링한 HTML (저장 시점에 생성)
+    @Column(columnDefinition = "TEXT")
+    private String contentHtml;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private SiteUser author;
 
     // Set 자료형으로 작성한 이유는 voter 속성값이 서로 중복되지 않도록 하기 위해서이다
     @ManyToMany
     Set<SiteUser> voter;
+
+    // 추천 수 비정규화 컬럼 (VoteService의 증가 쿼리로만 변경)
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private int voteCount;
 }
@@ -2,13 +2,19 @@ package com.mysite.sbb.answer;
 
 
 import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionDetail;
 import com.mysite.sbb.question.QuestionService;
 import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.SiteUserDetails;
 import com.mysite.sbb.user.UserService;
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteTarget;
+import com.mysite.sbb.vote.VoterIndex;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -17,8 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.server.ResponseStatusException;
-
-import java.security.Principal;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
  * 답변(Answer) 관련 HTTP 요청을 처리하는 컨트롤러.
@@ -36,6 +41,8 @@ public class AnswerController {
 
     private final UserService userService;
 
+    private final VoterIndex voterIndex;
+
     /**
      * 질문에 대한 답변을 생성하는 엔드포인트.
      * HTTP POST 요청 '/answer/create/{id}' 경로 처리.
@@ -47,25 +54,29 @@ public class AnswerController {
      * @return 유효성 검증 실패 시, 오류 메시지를 담아 질문 상세 페이지('question_detail')를 반환.
      * 유효성 검증 성공 시, 해당 질문 상세 페이지로 리다이렉트 처리.
      */
-    // 현재 로그인한 사용자의 정보를 알려면 스프링 시큐리티가 제공하는 Principal 객체를 사용해야 한다
-    // principal.getName()을 호출하면 현재 로그인한 사용자의 사용자명(사용자ID)을 알 수 있다.
+    // 현재 로그인한 사용자의 정보는 @AuthenticationPrincipal로 받는다.
+    // SiteUserDetails에 사용자 ID가 들어 있으므로 사용자명으로 SiteUser를 다시 조회할 필요가 없다.
     // @PreAuthorize("isAuthenticated()") 애너테이션이 붙은 메서드는 로그인한 경우에만 실행
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/create/{id}")
     public String createAnswer(Model model, @PathVariable("id") Integer id, @Valid AnswerForm answerForm, BindingResult bindingResult
-            , Principal principal) {
+            , @AuthenticationPrincipal SiteUserDetails user) {
         // ID를 사용하여 답변 대상 Question 엔티티 조회.
         Question question = this.questionService.getQuestion(id);
 
-        SiteUser siteUser = this.userService.getUser(principal.getName());
-
         // 유효성 검증 결과 확인. 오류 존재 시 폼 오류 처리.
         if (bindingResult.hasErrors()) {
-            // 오류가 있을 경우, 질문 데이터를 모델에 추가하고 상세 페이지로 돌아가 오류 메시지를 표시.
-            model.addAttribute("question", question);
+            // 오류가 있을 경우, 질문 상세 데이터를 모델에 추가하고 상세 페이지로 돌아가 오류 메시지를 표시.
+            QuestionDetail detail = this.questionService.getQuestionDetail(id, 0, AnswerSort.LATEST);
+            model.addAttribute("detail", detail);
+            model.addAttribute("questionVoted", this.voterIndex.hasVoted(VoteTarget.QUESTION, id, user.getId()));
+            model.addAttribute("votedAnswerIds", this.voterIndex.votedPosts(VoteTarget.ANSWER,
+                    detail.answers().map(AnswerView::id).getContent(), user.getId()));
             return "question_detail";
         }
-        Answer answer = this.answerService.create(question, answerForm.getContent(), siteUser);
+        // 로그인 정보의 사용자 ID로 작성자 참조만 만든다. (사용자 조회 쿼리 없음)
+        SiteUser author = this.userService.getReference(user.getId());
+        Answer answer = this.answerService.create(question, answerForm.getContent(), author, user.getUsername());
 
         return String.format("redirect:/question/detail/%s#answer_%s",
                 answer.getQuestion().getId(), answer.getId());
@@ -73,9 +84,10 @@ public class AnswerController {
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/modify/{id}")
-    public String answerModify(AnswerForm answerForm, @PathVariable("id") Integer id, Principal principal) {
+    public String answerModify(AnswerForm answerForm, @PathVariable("id") Integer id,
+                               @AuthenticationPrincipal SiteUserDetails user) {
         Answer answer = this.answerService.getAnswer(id);
-        if (!answer.getAuthor().getUsername().equals(principal.getName())) {
+        if (!user.isAuthor(answer.getAuthor())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "수정권한이 없습니다.");
         }
         answerForm.setContent(answer.getContent());
@@ -85,27 +97,29 @@ public class AnswerController {
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/modify/{id}")
     public String answerModify(@Valid AnswerForm answerForm, BindingResult bindingResult,
-                               @PathVariable("id") Integer id, Principal principal) {
+                               @PathVariable("id") Integer id, @AuthenticationPrincipal SiteUserDetails user) {
         if (bindingResult.hasErrors()) {
             return "answer_form";
         }
         Answer answer = this.answerService.getAnswer(id);
-        if (!answer.getAuthor().getUsername().equals(principal.getName())) {
+        if (!user.isAuthor(answer.getAuthor())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "수정권한이 없습니다.");
         }
-        this.answerService.modify(answer, answerForm.getContent());
+        this.answerService.modify(answer, answerForm.getContent(), user.getUsername());
         return String.format("redirect:/question/detail/%s#answer_%s",
                 answer.getQuestion().getId(), answer.getId());
     }
 
     // AnswerService의 vote 메서드를 호출하여 추천인을 저장
+    // 이미 추천한 경우에는 예외 대신 안내 메시지를 flash 속성으로 전달한다.
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/vote/{id}")
-    public String answerVote(Principal principal,
+    public String answerVote(@AuthenticationPrincipal SiteUserDetails user, RedirectAttributes redirectAttributes,
                              @PathVariable("id") Integer id) {
-        Answer answer = this.answerService.getAnswer(id);
-        SiteUser siteUser = this.userService.getUser(principal.getName());
-        this.answerService.vote(answer, siteUser);
-        return String.format("redirect:/question/detail/%s#answer_%s", answer.getQuestion().getId(), answer.getId());
+        int questionId = this.answerService.getQuestionId(id);
+        if (this.answerService.vote(questionId, id, user.getId()) == VoteResult.ALREADY_VOTED) {
+            redirectAttributes.addFlashAttribute("voteMessage", "이미 추천한 답변입니다.");
+        }
+        return String.format("redirect:/question/detail/%s#answer_%s", questionId, id);
     }
 }
\ No newline at end of file
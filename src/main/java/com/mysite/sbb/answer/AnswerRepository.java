@@ -1,7 +1,21 @@
 package com.mysite.sbb.answer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface AnswerRepository extends JpaRepository<Answer, Integer> {
 
+    // 질문 상세 화면의 답변 한 페이지를 작성자와 함께 한 번의 쿼리로 조회 (전체 건수는 question.answerCount 사용)
+    @EntityGraph(attributePaths = "author")
+    List<Answer> findByQuestionId(int questionId, Pageable pageable);
+
+    // 답변이 속한 질문 ID만 조회 (답변/질문 엔티티 로딩 없이 리다이렉트 경로를 만들 때 사용)
+    @Query("select a.question.id from Answer a where a.id = :id")
+    Optional<Integer> findQuestionIdById(@Param("id") int id);
 }
\ No newline at end of file
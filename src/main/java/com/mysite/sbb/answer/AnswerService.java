@@ -1,27 +1,71 @@
 package com.mysite.sbb.answer;
 
+import com.mysite.sbb.CommonUtil;
 import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.metrics.BoardMetrics;
 import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionDetailCache;
+import com.mysite.sbb.question.QuestionListCache;
+import com.mysite.sbb.search.SearchService;
 import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteService;
+import com.mysite.sbb.vote.VoteTarget;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+// 메서드별 실행 시간 (sbb.service{class, method} 타이머, 백분위 히스토그램 포함)
+@Timed(value = "sbb.service", histogram = true)
 @RequiredArgsConstructor
 @Service
 public class AnswerService {
     private final AnswerRepository answerRepository;
+    // 답변 생성 시 질문의 답변 수(answer_count)를 DB 증가 연산으로 올리기 위해 사용.
+    // (JPQL 벌크 update는 Question 2차 캐시 영역 전체를 비우므로 JDBC로 갱신하고 해당 질문만 캐시에서 제거한다.)
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final SearchService searchService;
+    private final CommonUtil commonUtil;
+    private final VoteService voteService;
+    // 답변 내용도 검색 대상이므로 답변 생성/수정 시 검색 결과 캐시를 무효화한다.
+    private final QuestionListCache questionListCache;
+    // 답변 생성/수정/추천 시 해당 질문의 상세 화면 스냅샷을 제거한다.
+    private final QuestionDetailCache questionDetailCache;
+    private final BoardMetrics boardMetrics;
 
-    // 답변 생성 메서드
-    public Answer create(Question question, String content, SiteUser author){
+    // 답변 생성 메서드. 답변 저장과 답변 수 증가는 한 트랜잭션으로 함께 커밋된다.
+    // authorName은 검색 색인에 쓰는 작성자 사용자명으로, 작성자 참조(프록시)를 초기화하지 않기 위해 따로 받는다.
+    @Transactional
+    public Answer create(Question question, String content, SiteUser author, String authorName){
         Answer answer = new Answer();
         answer.setContent(content);
+        answer.setContentHtml(this.commonUtil.render(content));
         answer.setCreateDate(LocalDateTime.now());
         answer.setQuestion(question);
         answer.setAuthor(author);
         this.answerRepository.save(answer);
+        this.jdbcTemplate.update("update question set answer_count = answer_count + 1 where id = ?", question.getId());
+        this.entityCacheEvictor.evict(Question.class, question.getId());
+        // 커밋 전에 화면 캐시를 비우면 그 사이의 조회가 커밋 전 상태를 다시 캐시할 수 있으므로 커밋 후에 비운다.
+        // (색인도 메모리 구조이므로 롤백된 답변이 남지 않도록 커밋 후에 반영한다.)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchService.indexAnswer(answer, authorName);
+                questionListCache.onSearchableContentChanged();
+                questionDetailCache.invalidate(question.getId());
+                boardMetrics.answerCreated();
+            }
+        });
         return answer;
     }
 
@@ -34,14 +78,32 @@ public class AnswerService {
         }
     }
 
-    public void modify(Answer answer, String content){
+    // authorName: 작성자 사용자명 (검색 색인용). 작성자만 수정할 수 있으므로 로그인 사용자의 이름이다.
+    public void modify(Answer answer, String content, String authorName){
         answer.setContent(content);
+        answer.setContentHtml(this.commonUtil.render(content));
         answer.setModifyDate(LocalDateTime.now());
         this.answerRepository.save(answer);
+        // 수정 시 캐시에 다시 저장되는 엔티티에는 그 사이 JDBC로 바뀐 추천 수가 빠져 있을 수 있으므로 제거한다.
+        this.entityCacheEvictor.evict(Answer.class, answer.getId());
+        this.searchService.indexAnswer(answer, authorName);
+        this.questionListCache.onSearchableContentChanged();
+        this.questionDetailCache.invalidate(answer.getQuestion().getId());
     }
 
-    public void vote(Answer answer, SiteUser siteUser) {
-        answer.getVoter().add(siteUser);
-        this.answerRepository.save(answer);
+    // 답변이 속한 질문 ID 조회 (추천 후 질문 상세 화면으로 돌아갈 때 사용)
+    public int getQuestionId(Integer answerId) {
+        return this.answerRepository.findQuestionIdById(answerId)
+                .orElseThrow(() -> new DataNotFoundException("answer not found"));
+    }
+
+    // 답변 추천. voter 컬렉션을 로딩하지 않고 VoteService가 조인 테이블에 직접 기록한다.
+    // questionId는 답변이 속한 질문 ID로, 추천 순 답변 페이지가 바뀌므로 해당 질문의 상세 화면 스냅샷을 제거하는 데 쓴다.
+    public VoteResult vote(int questionId, Integer id, int voterId) {
+        VoteResult result = this.voteService.vote(VoteTarget.ANSWER, id, voterId);
+        if (result == VoteResult.VOTED) {
+            this.questionDetailCache.invalidate(questionId);
+        }
+        return result;
     }
 }
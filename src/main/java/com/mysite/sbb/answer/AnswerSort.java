@@ -0,0 +1,32 @@
+package com.mysite.sbb.answer;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * 질문 상세 화면의 답변 정렬 방식.
+ */
+public enum AnswerSort {
+    // 최신순
+    LATEST(Sort.by(Sort.Order.desc("createDate"), Sort.Order.desc("id"))),
+    // 추천순 (추천 수가 같으면 최신순)
+    VOTES(Sort.by(Sort.Order.desc("voteCount"), Sort.Order.desc("createDate"), Sort.Order.desc("id")));
+
+    private final Sort sort;
+
+    AnswerSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    // 요청 파라미터(latest/votes) 해석. 알 수 없는 값이면 최신순.
+    public static AnswerSort from(String value) {
+        return "votes".equalsIgnoreCase(value) ? VOTES : LATEST;
+    }
+
+    public String getParam() {
+        return name().toLowerCase();
+    }
+}
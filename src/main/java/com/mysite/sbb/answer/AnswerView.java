@@ -0,0 +1,24 @@
+package com.mysite.sbb.answer;
+
+import com.mysite.sbb.CommonUtil;
+import com.mysite.sbb.user.AuthorView;
+
+import java.time.LocalDateTime;
+
+/**
+ * 질문 상세 화면의 답변 한 건 (변경 불가능한 스냅샷).
+ * @param id          답변 ID.
+ * @param contentHtml 렌더링된 본문 HTML.
+ * @param createDate  작성 일시.
+ * @param voteCount   추천 수.
+ * @param author      작성자 (없으면 null).
+ */
+public record AnswerView(int id, String contentHtml, LocalDateTime createDate, int voteCount, AuthorView author) {
+
+    // 미리 렌더링된 HTML이 없는 예전 답변은 이 시점에 한 번 렌더링한다.
+    public static AnswerView of(Answer answer, CommonUtil commonUtil) {
+        String html = answer.getContentHtml() != null ? answer.getContentHtml() : commonUtil.markdown(answer.getContent());
+        return new AnswerView(answer.getId(), html, answer.getCreateDate(), answer.getVoteCount(),
+                AuthorView.of(answer.getAuthor()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.mysite.sbb.cache;
+
+import com.mysite.sbb.question.QuestionDetailCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 2차 캐시 영역별 적중/실패/제거 통계를 JSON으로 보여주는 관리자용 엔드포인트.
+ * 통계는 JCache 표준 CacheStatistics MXBean에서 읽는다. (application.conf의 monitoring.statistics = true)
+ * 질문 상세 화면 스냅샷 캐시의 요청 묶음(coalescing) 통계도 함께 제공한다.
+ */
+@RequestMapping("/admin/cache")
+@RequiredArgsConstructor
+@RestController
+public class CacheStatsController {
+
+    private final QuestionDetailCache questionDetailCache;
+
+    private static final String[] ATTRIBUTES = {
+            "CacheHits", "CacheMisses", "CacheHitPercentage", "CachePuts", "CacheEvictions", "CacheRemovals"};
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public Map<String, Map<String, Object>> stats() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String attribute : ATTRIBUTES) {
+                values.put(attribute, server.getAttribute(name, attribute));
+            }
+            result.put(name.getKeyProperty("Cache"), values);
+        }
+        return result;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/detail")
+    public Map<String, Object> detail() {
+        return questionDetailCache.stats();
+    }
+}
@@ -0,0 +1,44 @@
+package com.mysite.sbb.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JdbcTemplate 등 Hibernate를 거치지 않는 쓰기(추천 수, 답변 수, 보정 작업) 후 2차 캐시를 무효화한다.
+ * JPA로 저장/수정/삭제한 엔티티는 Hibernate가 직접 캐시를 갱신하므로 여기서 처리할 필요가 없다.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * 엔티티 하나를 캐시에서 제거한다.
+     * 트랜잭션 안이면 커밋 후에 제거하여, 커밋 전에 다른 요청이 예전 값을 다시 캐시에 올리는 것을 막는다.
+     */
+    public void evict(Class<?> entityClass, Object id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictEntityData(entityClass, id);
+                }
+            });
+        } else {
+            cache.evictEntityData(entityClass, id);
+        }
+    }
+
+    // 여러 행을 한 번에 바꾸는 작업(보정, 백필) 후 해당 엔티티 캐시 전체를 비운다.
+    public void evictAll(Class<?> entityClass) {
+        cache.evictEntityData(entityClass);
+    }
+}
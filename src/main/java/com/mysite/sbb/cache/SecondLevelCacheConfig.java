@@ -0,0 +1,65 @@
+package com.mysite.sbb.cache;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.user.SiteUser;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate 2차 캐시(JCache + Caffeine) 설정.
+ * 엔티티 클래스에 캐시 애너테이션을 붙이지 않고 hibernate.classcache.&lt;엔티티&gt; 설정으로 캐시 대상을 지정하므로,
+ * sbb.cache.&lt;엔티티&gt;.enabled 값만 바꿔서 엔티티별로 캐시를 끄고 켤 수 있다. (부하 테스트 A/B 비교용)
+ * 캐시 영역별 크기/TTL은 application.conf(caffeine.jcache)에 있다.
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // 캐시 영역 이름. application.conf의 caffeine.jcache.<영역> 설정과 맞춰야 한다.
+    public static final String QUESTION_REGION = "question";
+    public static final String ANSWER_REGION = "answer";
+    public static final String SITE_USER_REGION = "site_user";
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${sbb.cache.question.enabled:true}") boolean questionEnabled,
+            @Value("${sbb.cache.answer.enabled:true}") boolean answerEnabled,
+            @Value("${sbb.cache.site-user.enabled:true}") boolean siteUserEnabled,
+            @Value("${sbb.cache.query.enabled:true}") boolean queryEnabled) {
+        Map<String, String> regions = new LinkedHashMap<>();
+        if (questionEnabled) {
+            regions.put(Question.class.getName(), QUESTION_REGION);
+        }
+        if (answerEnabled) {
+            regions.put(Answer.class.getName(), ANSWER_REGION);
+        }
+        if (siteUserEnabled) {
+            regions.put(SiteUser.class.getName(), SITE_USER_REGION);
+        }
+        return properties -> {
+            if (regions.isEmpty()) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            // 쿼리 캐시(findByUsername)는 결과로 SiteUser ID만 저장하므로 SiteUser 엔티티 캐시와 함께 쓸 때만 의미가 있다.
+            properties.put(AvailableSettings.USE_QUERY_CACHE, queryEnabled && siteUserEnabled);
+            // 값 형식: 동시성 전략,영역 이름. 컬렉션(answerList, voter)은 캐시하지 않는다.
+            regions.forEach((entity, region) ->
+                    properties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + entity, "read-write," + region));
+            log.info("second-level cache enabled for {}", regions.keySet());
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.mysite.sbb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 질문/답변 컨트롤러의 요청 처리 한 건 (핸들러 실행부터 뷰 렌더링 완료까지).
+ */
+@Name("sbb.HttpRequest")
+@Label("HTTP Request")
+@Description("질문/답변 컨트롤러 요청 처리")
+@Category({"SBB", "Web"})
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("URL 패턴, 예: /question/detail/{id}")
+    public String endpoint;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Exception")
+    public String exception;
+}
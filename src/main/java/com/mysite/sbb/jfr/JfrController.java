@@ -0,0 +1,29 @@
+package com.mysite.sbb.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 연속 JFR 기록(jfr 프로필)을 서버의 파일로 떨구는 관리자용 엔드포인트. JDK Mission Control에서 열어 본다.
+ */
+@Profile("jfr")
+@RequestMapping("/admin/jfr")
+@RequiredArgsConstructor
+@RestController
+public class JfrController {
+
+    private final JfrRecorder jfrRecorder;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/dump")
+    public Map<String, String> dump() throws IOException {
+        return Map.of("file", jfrRecorder.dump().toString());
+    }
+}
@@ -0,0 +1,55 @@
+package com.mysite.sbb.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 질문/답변 컨트롤러 요청을 HttpRequestEvent로 기록하는 인터셉터 등록.
+ * JFR 기록 중이 아니면(이벤트 비활성) 요청 속성도 만들지 않는다.
+ */
+@Configuration
+public class JfrEventConfig implements WebMvcConfigurer {
+
+    private static final String ATTRIBUTE = HttpRequestEvent.class.getName();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                HttpRequestEvent event = new HttpRequestEvent();
+                if (event.isEnabled()) {
+                    event.begin();
+                    request.setAttribute(ATTRIBUTE, event);
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                if (!(request.getAttribute(ATTRIBUTE) instanceof HttpRequestEvent event)) {
+                    return;
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.method = request.getMethod();
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+                    if (handler instanceof HandlerMethod method) {
+                        event.handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+                    }
+                    event.status = response.getStatus();
+                    event.exception = ex == null ? null : ex.getClass().getName();
+                    event.commit();
+                }
+            }
+        }).addPathPatterns("/question/**", "/answer/**");
+    }
+}
@@ -0,0 +1,98 @@
+package com.mysite.sbb.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * jfr 프로필에서 애플리케이션 기동과 함께 연속 JFR 기록을 시작한다.
+ * 기록은 디스크 저장소에 쌓이고 max-age/max-size를 넘는 오래된 구간부터 지워지므로 오래 켜 두어도 크기가 일정하다.
+ * 필요할 때 관리자 엔드포인트(/admin/jfr/dump)로 지금까지의 기록을 파일로 떨구고, 종료할 때도 한 번 떨군다.
+ * GC/할당 등 JDK 이벤트는 settings(default 또는 profile) 설정을 따르고, 게시판 이벤트(sbb.*)는 threshold 이상만 남긴다.
+ * SQL 이벤트(sbb.Statement)는 스택을 함께 남기므로 statement-threshold 이상 걸린 문만 남긴다.
+ */
+@Slf4j
+@Profile("jfr")
+@Component
+public class JfrRecorder {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Path dumpDirectory;
+    private final Duration threshold;
+    private final Duration statementThreshold;
+
+    private Recording recording;
+
+    public JfrRecorder(@Value("${sbb.jfr.settings:profile}") String settings,
+                       @Value("${sbb.jfr.max-age:30m}") Duration maxAge,
+                       @Value("${sbb.jfr.max-size:512MB}") DataSize maxSize,
+                       @Value("${sbb.jfr.dump-directory:jfr}") Path dumpDirectory,
+                       @Value("${sbb.jfr.threshold:0ms}") Duration threshold,
+                       @Value("${sbb.jfr.statement-threshold:10ms}") Duration statementThreshold) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpDirectory = dumpDirectory;
+        this.threshold = threshold;
+        this.statementThreshold = statementThreshold;
+    }
+
+    @PostConstruct
+    void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("sbb");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        for (Class<? extends Event> type : List.of(HttpRequestEvent.class, MarkdownEvent.class, VoteEvent.class)) {
+            recording.enable(type).withThreshold(threshold);
+        }
+        // SQL 이벤트는 스택을 남기므로 모든 문이 아니라 statement-threshold 이상 걸린 문만 기록한다.
+        recording.enable(StatementEvent.class).withThreshold(statementThreshold);
+        recording.start();
+        log.info("JFR recording started: settings={}, maxAge={}, maxSize={}", settings, maxAge, maxSize);
+    }
+
+    /**
+     * 지금까지 디스크 버퍼에 남아 있는 기록을 파일로 쓴다. 기록은 계속된다.
+     * @return 쓴 파일 경로.
+     */
+    public Path dump() throws IOException {
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve("sbb-" + LocalDateTime.now().format(FILE_TIME) + ".jfr").toAbsolutePath();
+        recording.dump(file);
+        log.info("JFR recording dumped to {}", file);
+        return file;
+    }
+
+    @PreDestroy
+    void stop() {
+        try {
+            dump();
+        } catch (IOException e) {
+            log.warn("JFR dump on shutdown failed", e);
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mysite.sbb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * CommonUtil의 마크다운 변환 한 번.
+ */
+@Name("sbb.Markdown")
+@Label("Markdown Rendering")
+@Description("CommonUtil.markdown/render 호출")
+@Category({"SBB", "Markdown"})
+@StackTrace(false)
+public class MarkdownEvent extends jdk.jfr.Event {
+
+    @Label("Input Length")
+    @Description("마크다운 글자 수")
+    public int inputLength;
+
+    @Label("Output Length")
+    @Description("HTML 글자 수")
+    public int outputLength;
+
+    @Label("Cached")
+    @Description("변환 캐시를 사용하는 호출(markdown)인지 여부")
+    public boolean cached;
+}
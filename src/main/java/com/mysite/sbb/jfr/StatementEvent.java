@@ -0,0 +1,23 @@
+package com.mysite.sbb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDBC 문 실행 한 번. 리터럴과 IN 목록 길이를 지운 SQL 형태로 기록하여 같은 쿼리끼리 묶어 볼 수 있다.
+ * 스택을 남기므로 어느 저장소 메서드/지연 로딩에서 실행됐는지 JMC에서 확인할 수 있다.
+ */
+@Name("sbb.Statement")
+@Label("SQL Statement")
+@Description("JDBC 문 실행")
+@Category({"SBB", "Database"})
+public class StatementEvent extends jdk.jfr.Event {
+
+    @Label("Statement Shape")
+    public String sql;
+
+    @Label("Batch")
+    public boolean batch;
+}
@@ -0,0 +1,27 @@
+package com.mysite.sbb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 추천 쓰기 한 번 (조인 테이블 insert와 추천 수 증가).
+ */
+@Name("sbb.Vote")
+@Label("Vote Write")
+@Description("VoteService.vote 호출")
+@Category({"SBB", "Vote"})
+@StackTrace(false)
+public class VoteEvent extends jdk.jfr.Event {
+
+    @Label("Target")
+    public String target;
+
+    @Label("Post Id")
+    public int postId;
+
+    @Label("Result")
+    public String result;
+}
@@ -0,0 +1,70 @@
+package com.mysite.sbb.metrics;
+
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteTarget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 게시판 업무 카운터: 추천, 답변 작성, 검색.
+ * 검색어는 태그 값이 무한히 늘어나지 않도록 내용 대신 길이 구간(1-2, 3-5, 6-10, 11+)으로만 기록한다.
+ * (지연 시간은 @Timed와 actuator 기본 메트릭(http.server.requests, spring.data.repository.invocations)으로 측정)
+ */
+@Component
+public class BoardMetrics {
+
+    // 검색어 길이 구간의 상한 (마지막 구간은 상한 없음)
+    private static final int[] KEYWORD_LENGTH_BOUNDS = {2, 5, 10};
+    private static final String[] KEYWORD_LENGTH_BUCKETS = {"1-2", "3-5", "6-10", "11+"};
+
+    private final Map<VoteTarget, Counter> votes = new EnumMap<>(VoteTarget.class);
+    private final Map<VoteTarget, Counter> duplicateVotes = new EnumMap<>(VoteTarget.class);
+    private final Counter answers;
+    private final Counter[] searches = new Counter[KEYWORD_LENGTH_BUCKETS.length];
+
+    public BoardMetrics(MeterRegistry registry) {
+        for (VoteTarget target : VoteTarget.values()) {
+            String name = target.name().toLowerCase(Locale.ROOT);
+            votes.put(target, Counter.builder("sbb.votes").description("추천 요청 수")
+                    .tags("target", name, "result", "voted").register(registry));
+            duplicateVotes.put(target, Counter.builder("sbb.votes").description("추천 요청 수")
+                    .tags("target", name, "result", "already_voted").register(registry));
+        }
+        answers = Counter.builder("sbb.answers.created").description("작성된 답변 수").register(registry);
+        for (int i = 0; i < KEYWORD_LENGTH_BUCKETS.length; i++) {
+            searches[i] = Counter.builder("sbb.searches").description("검색어가 있는 목록 조회 수")
+                    .tag("kw.length", KEYWORD_LENGTH_BUCKETS[i]).register(registry);
+        }
+    }
+
+    public void voted(VoteTarget target, VoteResult result) {
+        (result == VoteResult.VOTED ? votes : duplicateVotes).get(target).increment();
+    }
+
+    public void answerCreated() {
+        answers.increment();
+    }
+
+    // 앞뒤 공백을 뺀 검색어 길이로 구간을 정한다. 빈 검색어(전체 목록)는 세지 않는다.
+    public void searched(String kw) {
+        int length = kw == null ? 0 : kw.strip().length();
+        if (length == 0) {
+            return;
+        }
+        searches[bucket(length)].increment();
+    }
+
+    static int bucket(int length) {
+        for (int i = 0; i < KEYWORD_LENGTH_BOUNDS.length; i++) {
+            if (length <= KEYWORD_LENGTH_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return KEYWORD_LENGTH_BOUNDS.length;
+    }
+}
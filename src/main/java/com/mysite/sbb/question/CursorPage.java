@@ -0,0 +1,20 @@
+package com.mysite.sbb.question;
+
+import java.util.List;
+
+/**
+ * keyset(커서) 방식으로 조회한 목록 한 페이지. 전체 건수(count 쿼리)는 구하지 않는다.
+ * @param content        페이지 내용 (최신순).
+ * @param previousCursor 이전(더 최신) 페이지를 조회할 커서. 첫 페이지면 null.
+ * @param nextCursor     다음(더 오래된) 페이지를 조회할 커서. 마지막 페이지면 null.
+ */
+public record CursorPage<T>(List<T> content, String previousCursor, String nextCursor) {
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -5,26 +5,32 @@ import com.mysite.sbb.user.SiteUser;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 /**
  * 질문 엔티티 (DB 테이블 'question'과 매핑).
  * 데이터베이스의 질문 레코드를 나타내는 영속성 객체.
  */
 @Entity
+// keyset 페이징(최신순 목록)용 복합 인덱스
+@Table(indexes = @Index(name = "idx_question_create_date_id", columnList = "createDate, id"))
 @Setter // Lombok: 필드에 대한 Setter 메서드 자동 생성.
 @Getter // Lombok: 필드에 대한 Getter 메서드 자동 생성.
 public class Question {
 
-    // PK(Primary Key) 설정 및 자동 증가(Auto-increment) 전략 정의.
+    // PK(Primary Key) 설정 및 ID 생성 전략 정의.
+    // IDENTITY는 insert마다 DB가 만든 ID를 바로 받아야 해서 JDBC batch가 꺼지므로,
+    // 시퀀스에서 50개씩 미리 할당(pooled-lo)하는 SEQUENCE 전략을 사용한다. (기존 데이터는 IdSequenceAligner가 시퀀스를 맞춤)
     @Id
-    @GeneratedValue(strategy = IDENTITY) // MySQL의 AUTO_INCREMENT와 동일한 IDENTITY 전략 사용.
+    @GeneratedValue(strategy = SEQUENCE, generator = "question_seq")
+    @SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = 50)
     private int id; // 질문의 고유 번호.
 
     // 엔티티가 생성된 일시 저장.
@@ -40,14 +46,29 @@ public class Question {
     @Column(columnDefinition = "TEXT")
     private String content; // 질문 내용.
 
+    // content를 마크다운 렌더링한 HTML. 저장 시점에 미리 만들어 두어 조회할 때마다 파싱하지 않는다.
+    @Column(columnDefinition = "TEXT")
+    private String contentHtml;
+
     // 사용자 한명이 여러 질문을 작성할 수 있기 떄문에 ManyToOne 사용(Question의 입장)
-    @ManyToOne
+    // 목록/상세 조회는 필요한 경우에만 조인(projection, EntityGraph)하므로 지연 로딩으로 둔다.
+    @ManyToOne(fetch = FetchType.LAZY)
     private SiteUser author;
 
     // 질문에 여러 사람이 추천할 수 있고 한 사람이 여러 개의 질문을 추천할 수 있다. 따라서 @ManyToMany 애너테이션을 사용
     @ManyToMany
     Set<SiteUser> voter;
 
+    // 답변 수/추천 수 비정규화 컬럼. 목록/상세 화면에서 컬렉션 전체를 로딩하지 않고 개수를 표시하기 위해 사용.
+    // 엔티티 저장(save) 시 덮어쓰지 않도록 updatable = false로 두고, 값 변경은 Repository의 증감 쿼리로만 한다.
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private int answerCount;
+
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private int voteCount;
+
     // 일대다(OneToMany) 관계 정의: 하나의 질문은 여러 개의 답변을 가짐.
     @OneToMany(
             mappedBy = "question", // Answer 엔티티의 'question' 필드에 의해 매핑됨.
@@ -67,6 +88,7 @@ public class Question {
         answer.setQuestion(this); // 양방향 관계 설정 (Answer -> Question).
         answer.setCreateDate(LocalDateTime.now());
         answerList.add(answer); // 양방향 관계 설정 (Question -> AnswerList).
+        answerCount++; // 새 질문과 함께 저장(PERSIST)되는 답변이므로 초기 답변 수에 반영.
 
         return answer;
     }
@@ -1,20 +1,31 @@
 package com.mysite.sbb.question;
 
+import com.mysite.sbb.Pagination;
 import com.mysite.sbb.answer.AnswerForm;
+import com.mysite.sbb.answer.AnswerSort;
+import com.mysite.sbb.answer.AnswerView;
 import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.SiteUserDetails;
 import com.mysite.sbb.user.UserService;
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteTarget;
+import com.mysite.sbb.vote.VoterIndex;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.security.Principal;
+import java.util.List;
+import java.util.Set;
 
 
 // URL prefix 설정
@@ -24,22 +35,67 @@ import java.security.Principal;
 public class QuestionController {
     private final QuestionService questionService;
     private final UserService userService;
+    private final VoterIndex voterIndex;
+
+    // 검색어 없는 전체 목록에서 번호(OFFSET) 방식으로 볼 수 있는 최대 페이지 수. 그 이후는 커서 방식으로만 이동한다.
+    @Value("${sbb.list.offset-page-limit:20}")
+    private int offsetPageLimit;
 
     @GetMapping("/list")
     public String list(Model model,
                        @RequestParam(value="page", defaultValue="0") int page,
                        // 검색어가 입력되지 않을 경우 kw값이 null이 되는 것을 방지하기 위해 빈 문자열을 기본값으로 설정한다.
-                       @RequestParam(value = "kw", defaultValue = "") String kw) {
-        Page<Question> paging = this.questionService.getList(page, kw);
-        model.addAttribute("paging", paging);
+                       @RequestParam(value = "kw", defaultValue = "") String kw,
+                       // 커서 방식 목록: cursor 기준으로 dir=next(더 오래된 글) 또는 dir=prev(더 최신 글) 페이지를 조회
+                       @RequestParam(value = "cursor", required = false) String cursor,
+                       @RequestParam(value = "dir", defaultValue = "next") String dir) {
         // 입력한 검색어를 화면에 그대로 유지하기 위해 model.addAttribute("kw", kw)로 kw값을 저장
         model.addAttribute("kw", kw);
+        if (cursor != null && kw.isBlank()) {
+            QuestionCursor questionCursor;
+            try {
+                questionCursor = QuestionCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 페이지 요청입니다.");
+            }
+            CursorPage<QuestionListItem> cursorPage = this.questionService.getCursorList(questionCursor, "prev".equals(dir));
+            model.addAttribute("questions", cursorPage.content());
+            model.addAttribute("pagination", Pagination.ofCursor(cursorPage.previousCursor(), cursorPage.nextCursor()));
+            return "question_list";
+        }
+        if (kw.isBlank()) {
+            page = Math.min(page, offsetPageLimit - 1);
+        }
+        Page<QuestionListItem> paging = this.questionService.getList(page, kw);
+        model.addAttribute("questions", paging.getContent());
+        model.addAttribute("paging", paging);
+        // 번호 방식의 마지막 허용 페이지에서는 '다음' 버튼이 커서 방식 목록으로 이어지도록 커서를 넘긴다.
+        String nextCursor = null;
+        if (kw.isBlank() && paging.getNumber() == offsetPageLimit - 1 && paging.hasNext()) {
+            List<QuestionListItem> content = paging.getContent();
+            nextCursor = QuestionCursor.of(content.get(content.size() - 1)).encode();
+        }
+        model.addAttribute("pagination", Pagination.ofPage(paging, Pagination.DEFAULT_WINDOW,
+                kw.isBlank() ? offsetPageLimit : Integer.MAX_VALUE, nextCursor));
         return "question_list";
     }
+    // 답변은 answerPage 단위로 나누어 보여주며, answerSort=latest(최신순) 또는 votes(추천순)로 정렬한다.
     @GetMapping(value = "/detail/{id}")
-    public String detail(Model model, @PathVariable("id") Integer id, AnswerForm answerForm) {
-        Question question = this.questionService.getQuestion(id);
-        model.addAttribute("question", question);
+    public String detail(Model model, @PathVariable("id") Integer id, AnswerForm answerForm,
+                         @AuthenticationPrincipal SiteUserDetails user,
+                         @RequestParam(value = "answerPage", defaultValue = "0") int answerPage,
+                         @RequestParam(value = "answerSort", defaultValue = "latest") String answerSort) {
+        QuestionDetail detail = this.questionService.getQuestionDetail(id, answerPage, AnswerSort.from(answerSort));
+        model.addAttribute("detail", detail);
+        // 로그인 사용자의 추천 여부: 메모리 추천인 인덱스로 질문/답변마다 O(1) 확인 (voter 컬렉션 로딩 없음)
+        if (user != null) {
+            model.addAttribute("questionVoted", this.voterIndex.hasVoted(VoteTarget.QUESTION, id, user.getId()));
+            model.addAttribute("votedAnswerIds", this.voterIndex.votedPosts(VoteTarget.ANSWER,
+                    detail.answers().map(AnswerView::id).getContent(), user.getId()));
+        } else {
+            model.addAttribute("questionVoted", false);
+            model.addAttribute("votedAnswerIds", Set.of());
+        }
         return "question_detail";
     }
     // @PreAuthorize("isAuthenticated()") 애너테이션이 붙은 메서드는 로그인한 경우에만 실행
@@ -51,20 +107,23 @@ public class QuestionController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/create")
-    public String questionCreate(@Valid QuestionForm questionForm, BindingResult bindingResult, Principal principal) {
+    public String questionCreate(@Valid QuestionForm questionForm, BindingResult bindingResult,
+                                 @AuthenticationPrincipal SiteUserDetails user) {
         if (bindingResult.hasErrors()) {
             return "question_form";
         }
-        SiteUser siteUser = this.userService.getUser(principal.getName());
-        this.questionService.create(questionForm.getSubject(), questionForm.getContent(), siteUser);
+        // 로그인 정보의 사용자 ID로 작성자 참조만 만든다. (사용자 조회 쿼리 없음)
+        SiteUser author = this.userService.getReference(user.getId());
+        this.questionService.create(questionForm.getSubject(), questionForm.getContent(), author, user.getUsername());
         return "redirect:/question/list";
     }
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/modify/{id}")
-    public String questionModify(QuestionForm questionForm, @PathVariable("id") Integer id, Principal principal) {
+    public String questionModify(QuestionForm questionForm, @PathVariable("id") Integer id,
+                                 @AuthenticationPrincipal SiteUserDetails user) {
         Question question = this.questionService.getQuestion(id);
-        if(!question.getAuthor().getUsername().equals(principal.getName())) {
+        if (!user.isAuthor(question.getAuthor())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "수정권한이 없습니다.");
         }
         questionForm.setSubject(question.getSubject());
@@ -77,23 +136,23 @@ public class QuestionController {
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/modify/{id}")
     public String questionModify(@Valid QuestionForm questionForm, BindingResult bindingResult,
-                                 Principal principal, @PathVariable("id") Integer id) {
+                                 @AuthenticationPrincipal SiteUserDetails user, @PathVariable("id") Integer id) {
         if (bindingResult.hasErrors()) {
             return "question_form";
         }
         Question question = this.questionService.getQuestion(id);
-        if (!question.getAuthor().getUsername().equals(principal.getName())) {
+        if (!user.isAuthor(question.getAuthor())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "수정권한이 없습니다.");
         }
-        this.questionService.modify(question, questionForm.getSubject(), questionForm.getContent());
+        this.questionService.modify(question, questionForm.getSubject(), questionForm.getContent(), user.getUsername());
         return String.format("redirect:/question/detail/%s", id);
     }
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/delete/{id}")
-    public String questionDelete(Principal principal, @PathVariable("id") Integer id) {
+    public String questionDelete(@AuthenticationPrincipal SiteUserDetails user, @PathVariable("id") Integer id) {
         Question question = this.questionService.getQuestion(id);
-        if (!question.getAuthor().getUsername().equals(principal.getName())) {
+        if (!user.isAuthor(question.getAuthor())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "삭제권한이 없습니다");
         }
         this.questionService.delete(question);
@@ -103,13 +162,14 @@ public class QuestionController {
     // @PreAuthorize("isAuthenticated( )") : 로그인한 사람만 사용 가능
     // QuestionService의 vote 메서드를 호출하여 사용자(siteUser)를 추천인(voter)으로 저장했다.
     // 오류가 없다면 추천인을 저장한 후 질문 상세 화면으로 리다이렉트
+    // 이미 추천한 경우에는 예외 대신 안내 메시지를 flash 속성으로 전달한다.
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/vote/{id}")
-    public String questionVote(Principal principal,
+    public String questionVote(@AuthenticationPrincipal SiteUserDetails user, RedirectAttributes redirectAttributes,
                                @PathVariable("id") Integer id) {
-        Question question = this.questionService.getQuestion(id);
-        SiteUser siteUser = this.userService.getUser(principal.getName());
-        this.questionService.vote(question, siteUser);
+        if (this.questionService.vote(id, user.getId()) == VoteResult.ALREADY_VOTED) {
+            redirectAttributes.addFlashAttribute("voteMessage", "이미 추천한 질문입니다.");
+        }
         return String.format("redirect:/question/detail/%s", id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.mysite.sbb.question;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * keyset 페이징 커서. 질문 목록의 정렬 키인 (createDate, id) 한 쌍을 담는다.
+ * 화면/URL에는 내부 구조가 드러나지 않도록 Base64(URL-safe) 문자열로 인코딩하여 전달한다.
+ * @param createDate 기준 질문의 작성 일시.
+ * @param id         작성 일시가 같을 때 순서를 정하는 기준 질문 ID.
+ */
+public record QuestionCursor(LocalDateTime createDate, int id) {
+
+    public static QuestionCursor of(QuestionListItem item) {
+        return new QuestionCursor(item.createDate(), item.id());
+    }
+
+    public String encode() {
+        Instant instant = createDate.toInstant(ZoneOffset.UTC);
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 인코딩된 커서 문자열을 해석한다.
+     * @param cursor encode()로 만든 문자열.
+     * @return 커서 객체.
+     * @throws IllegalArgumentException 형식이 잘못된 커서인 경우.
+     */
+    public static QuestionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+            LocalDateTime createDate = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(parts[0]), Integer.parseInt(parts[1]), ZoneOffset.UTC);
+            return new QuestionCursor(createDate, Integer.parseInt(parts[2]));
+        } catch (NumberFormatException | DateTimeException e) {
+            // 범위를 벗어난 초/나노초 값은 DateTimeException으로 온다.
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.Pagination;
+import com.mysite.sbb.answer.AnswerSort;
+import com.mysite.sbb.answer.AnswerView;
+import org.springframework.data.domain.Page;
+
+/**
+ * 질문 상세 화면 모델. 질문(작성자 포함)과 답변 한 페이지(작성자 포함)를 정해진 횟수의 쿼리로 읽어 담는다.
+ * 엔티티가 아닌 변경 불가능한 값만 담으므로 QuestionDetailCache에서 여러 요청이 공유할 수 있다.
+ * @param question         질문 (작성자, 렌더링된 HTML 포함).
+ * @param answers          답변 한 페이지 (작성자, 렌더링된 HTML 포함, 전체 건수는 question.answerCount 사용).
+ * @param answerSort       답변 정렬 방식.
+ * @param answerPagination 답변 페이지 이동 링크.
+ */
+public record QuestionDetail(QuestionView question, Page<AnswerView> answers, AnswerSort answerSort,
+                             Pagination answerPagination) {
+}
@@ -0,0 +1,119 @@
+package com.mysite.sbb.question;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mysite.sbb.answer.AnswerSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 질문 상세 화면 스냅샷 캐시 (single-flight).
+ * 같은 (질문, 답변 페이지, 정렬)에 대한 동시 요청은 하나의 조회/렌더링을 함께 기다리고 그 결과를 공유한다.
+ * 만든 지 fresh가 지난 스냅샷은 grace 동안 그대로 응답하면서 백그라운드에서 한 번만 다시 읽는다. (stale-while-revalidate)
+ * grace까지 지나면 제거되어 다음 요청이 (역시 하나로 묶여서) 다시 읽는다.
+ * 질문/답변 쓰기는 해당 질문의 세대(generation) 번호를 올린다. 세대는 키에 포함되므로 이전 세대의 스냅샷과
+ * 쓰기 전에 시작된 조회 결과는 더 이상 응답에 쓰이지 않고, 작성자는 자신의 변경을 바로 볼 수 있다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled)에서는 조회를 TaskExecutor에서 실행하고 요청 스레드는 결과(CompletableFuture)를
+ * 기다린다. 요청 스레드에서 조회하면 ConcurrentHashMap.compute의 synchronized 안에서 DB 조회를 하게 되어 가상 스레드가
+ * 캐리어 스레드에 고정되기 때문이다. 플랫폼 스레드에서는 고정 문제가 없으므로 스레드 전환 없이 요청 스레드에서 바로 조회한다.
+ * (이 경우 백그라운드 갱신도 오래된 스냅샷을 발견한 요청 하나가 실행하고, 나머지 요청은 기존 스냅샷을 그대로 받는다.)
+ */
+@Component
+public class QuestionDetailCache {
+
+    private record Key(int questionId, long generation, int answerPage, AnswerSort sort) {
+    }
+
+    private final AsyncLoadingCache<Key, QuestionDetail> cache;
+    // 최근 쓰기가 있었던 질문의 세대 번호. (없으면 0) 이전 세대의 항목은 크기 제한/만료로 자연스럽게 제거된다.
+    // 세대 번호도 스냅샷과 같은 크기 제한과 만료(fresh + grace)를 두어 질문 수만큼 쌓이지 않게 한다.
+    // 세대가 제거되면 0으로 돌아가므로, 그때 남아 있을 수 있는 그 질문의 스냅샷(쓰기 직전에 시작된 갱신 결과 등)도 함께 버린다.
+    private final Cache<Integer, Long> generations;
+    // 상세 화면 요청 수와 실제 DB 조회(갱신 포함) 수. 그 비율로 요청이 얼마나 묶였는지 본다.
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public QuestionDetailCache(QuestionDetailLoader loader, TaskExecutor taskExecutor,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                               @Value("${sbb.detail.cache.max-size:1000}") long maxSize,
+                               @Value("${sbb.detail.cache.fresh:10s}") Duration fresh,
+                               @Value("${sbb.detail.cache.grace:5s}") Duration grace) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(fresh)
+                .expireAfterWrite(fresh.plus(grace))
+                .recordStats()
+                .executor(virtualThreads ? taskExecutor : Runnable::run)
+                .buildAsync(key -> {
+                    loads.increment();
+                    return loader.load(key.questionId(), key.answerPage(), key.sort());
+                });
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(fresh.plus(grace))
+                .<Integer, Long>evictionListener((questionId, generation, cause) -> dropSnapshots(questionId))
+                .build();
+    }
+
+    /**
+     * 질문 상세 화면 스냅샷을 구한다.
+     * @throws com.mysite.sbb.DataNotFoundException 해당 ID의 질문이 존재하지 않을 경우 (결과는 캐시하지 않음).
+     */
+    public QuestionDetail get(int questionId, int answerPage, AnswerSort sort) {
+        requests.increment();
+        try {
+            return cache.get(new Key(questionId, generation(questionId), Math.max(answerPage, 0), sort)).join();
+        } catch (CompletionException e) {
+            // 조회 중 발생한 예외(DataNotFoundException 등)를 그대로 전달한다.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 질문 또는 그 답변이 바뀌면 해당 질문의 세대를 올려 모든 답변 페이지/정렬 스냅샷(진행 중인 조회 포함)을 버린다.
+    public void invalidate(int questionId) {
+        generations.asMap().merge(questionId, 1L, Long::sum);
+    }
+
+    private long generation(int questionId) {
+        Long generation = generations.getIfPresent(questionId);
+        return generation == null ? 0 : generation;
+    }
+
+    // 진행 중인 조회도 함께 제거되므로 그 결과는 캐시에 들어가지 않는다.
+    private void dropSnapshots(Integer questionId) {
+        if (questionId != null) {
+            cache.synchronous().asMap().keySet().removeIf(key -> key.questionId() == questionId);
+        }
+    }
+
+    /**
+     * 요청 묶음 통계.
+     * coalescingRatio: DB 조회 없이 (캐시 또는 진행 중인 조회를 공유하여) 응답한 요청의 비율.
+     */
+    public Map<String, Object> stats() {
+        long requestCount = requests.sum();
+        long loadCount = loads.sum();
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", requestCount);
+        result.put("loads", loadCount);
+        result.put("coalescingRatio", requestCount == 0 ? 0.0 : 1.0 - (double) loadCount / requestCount);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("size", cache.synchronous().estimatedSize());
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.CommonUtil;
+import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.Pagination;
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.answer.AnswerRepository;
+import com.mysite.sbb.answer.AnswerSort;
+import com.mysite.sbb.answer.AnswerView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 질문 상세 화면 스냅샷을 DB에서 읽어 만든다. QuestionDetailCache가 캐시 미스/갱신 시 호출한다.
+ * 갱신은 요청 스레드가 아닌 백그라운드 스레드에서도 실행되므로, 지연 로딩이 필요한 값은 모두 트랜잭션 안에서 값 객체로 옮긴다.
+ */
+@RequiredArgsConstructor
+@Component
+public class QuestionDetailLoader {
+
+    // 질문 상세 화면에서 한 번에 보여줄 답변 수.
+    private static final int ANSWER_PAGE_SIZE = 20;
+
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final CommonUtil commonUtil;
+
+    // 질문 2차 캐시 사용 여부 (SecondLevelCacheConfig)
+    @Value("${sbb.cache.question.enabled:true}")
+    private boolean questionCacheEnabled;
+
+    /**
+     * 질문+작성자 1회, 답변 한 페이지+작성자 1회로 답변 수와 관계없이 쿼리 수가 일정하다.
+     * 질문 2차 캐시가 켜져 있으면 질문과 작성자는 캐시에서 읽는다. (fetch join 쿼리는 2차 캐시를 거치지 않으므로 findById 사용)
+     * 마크다운 렌더링(미리 렌더링된 HTML이 없는 예전 데이터)도 여기서 한 번만 수행한다.
+     * @throws DataNotFoundException 해당 ID의 질문이 존재하지 않을 경우 예외 발생.
+     */
+    @Transactional(readOnly = true)
+    public QuestionDetail load(int id, int answerPage, AnswerSort sort) {
+        Question question = (this.questionCacheEnabled
+                ? this.questionRepository.findById(id)
+                : this.questionRepository.findWithAuthorById(id))
+                .orElseThrow(() -> new DataNotFoundException("question not found"));
+        // 전체 답변 수는 비정규화된 question.answerCount를 사용하므로 count 쿼리가 발생하지 않는다.
+        Pageable pageable = PageRequest.of(Math.max(answerPage, 0), ANSWER_PAGE_SIZE, sort.getSort());
+        Page<Answer> answers = new PageImpl<>(this.answerRepository.findByQuestionId(question.getId(), pageable),
+                pageable, question.getAnswerCount());
+        return new QuestionDetail(QuestionView.of(question, this.commonUtil),
+                answers.map(answer -> AnswerView.of(answer, this.commonUtil)), sort,
+                Pagination.ofPage(answers, Pagination.DEFAULT_WINDOW, Integer.MAX_VALUE, null));
+    }
+}
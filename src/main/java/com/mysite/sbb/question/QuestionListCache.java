@@ -0,0 +1,130 @@
+package com.mysite.sbb.question;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 질문 목록/검색 결과 앞쪽 페이지의 캐시.
+ * 페이지 내용 대신 질문 ID 목록과 전체 건수만 보관하고, 화면에 필요한 컬럼은 ID IN 쿼리 한 번으로 다시 읽는다.
+ * (답변 수, 작성자명 등이 바뀌어도 캐시를 비울 필요가 없다.)
+ * 무효화는 전체 삭제 대신 세대(generation) 번호를 키에 포함하는 방식이다.
+ * - 전체 목록: 질문이 추가/삭제되면 listGeneration 증가
+ * - 검색 결과: 질문 추가/수정/삭제 또는 답변 추가/수정 시 searchGeneration 증가
+ * 세대가 바뀌면 이전 세대의 항목은 더 이상 조회되지 않고 크기 제한/TTL에 의해 자연스럽게 제거된다.
+ */
+@Component
+public class QuestionListCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 캐시에 보관하는 한 페이지.
+     * @param ids   페이지에 표시할 질문 ID (표시 순서대로).
+     * @param total 전체 건수.
+     */
+    public record CachedPage(List<Integer> ids, long total) {
+    }
+
+    private record Key(String keyword, int page, String sort, long generation) {
+    }
+
+    // 가상 스레드 모드에서는 조회를 TaskExecutor에서 실행한다. (요청 스레드에서 조회하면 synchronized 안에서 DB 조회를 하여
+    // 가상 스레드를 고정시킴) 플랫폼 스레드에서는 스레드 전환 없이 요청 스레드에서 바로 조회한다.
+    private final AsyncCache<Key, CachedPage> cache;
+    // 이 번호보다 작은 페이지만 캐시한다. (대부분의 요청이 0~2 페이지)
+    private final int cachedPages;
+    private final AtomicLong listGeneration = new AtomicLong();
+    private final AtomicLong searchGeneration = new AtomicLong();
+    // 세대 번호는 재시작하면 0부터 다시 시작하므로, 재시작 전의 ETag와 겹치지 않도록 버전에 기동 시각을 붙인다.
+    private final long bootEpoch = System.currentTimeMillis();
+    // 마지막으로 세대 번호가 바뀐 시각 (목록 화면의 Last-Modified)
+    private volatile long lastChanged = System.currentTimeMillis();
+
+    public QuestionListCache(TaskExecutor taskExecutor,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                             @Value("${sbb.list.cache.pages:3}") int cachedPages,
+                             @Value("${sbb.list.cache.max-size:10000}") long maxSize,
+                             @Value("${sbb.list.cache.ttl:60s}") Duration ttl) {
+        this.cachedPages = cachedPages;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(virtualThreads ? taskExecutor : Runnable::run)
+                .buildAsync();
+    }
+
+    /**
+     * 캐시 대상 페이지인지 여부.
+     */
+    public boolean isCacheable(int page) {
+        return page < cachedPages;
+    }
+
+    /**
+     * 페이지를 캐시에서 찾고, 없으면 loader로 조회해 저장한다.
+     * 같은 키에 대한 동시 요청은 하나만 loader를 실행하고 나머지는 그 결과를 기다린다.
+     * @param keyword 검색어 (공백이면 전체 목록).
+     * @param page    페이지 번호.
+     * @param sort    정렬/검색 방식 구분 값.
+     * @param loader  캐시 미스 시 실행할 조회.
+     */
+    public CachedPage get(String keyword, int page, String sort, Supplier<CachedPage> loader) {
+        String normalized = normalize(keyword);
+        long generation = normalized.isEmpty() ? listGeneration.get() : searchGeneration.get();
+        try {
+            return cache.get(new Key(normalized, page, sort, generation), key -> loader.get()).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 질문이 추가/삭제되면 전체 목록과 검색 결과가 모두 바뀐다.
+    public void onQuestionAddedOrRemoved() {
+        listGeneration.incrementAndGet();
+        searchGeneration.incrementAndGet();
+        lastChanged = System.currentTimeMillis();
+    }
+
+    // 질문 수정, 답변 추가/수정은 검색 결과(일치 여부, 순위)만 바꾼다.
+    public void onSearchableContentChanged() {
+        searchGeneration.incrementAndGet();
+        lastChanged = System.currentTimeMillis();
+    }
+
+    /**
+     * 목록 화면 내용의 버전. 목록에 보이는 값(질문 추가/삭제, 제목, 답변 수)이 바뀌면 두 세대 중 하나가 반드시 증가한다.
+     * 렌더링된 목록 화면 캐시와 ETag에 사용한다. (DB 조회 없음)
+     * 기동 시각을 포함하므로 재시작 후에는 이전 ETag가 일치하지 않는다.
+     */
+    public String version() {
+        return bootEpoch + "." + listGeneration.get() + "." + searchGeneration.get();
+    }
+
+    public long lastModified() {
+        return lastChanged;
+    }
+
+    // 검색 색인과 같은 규칙(NFKC, 소문자)으로 정규화하고 공백을 하나로 합쳐 같은 검색어가 같은 키를 갖도록 한다.
+    static String normalize(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(keyword, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+}
@@ -0,0 +1,16 @@
+package com.mysite.sbb.question;
+
+import java.time.LocalDateTime;
+
+/**
+ * 질문 목록 화면 전용 읽기 모델.
+ * 목록에 필요한 컬럼만 한 번의 조인 쿼리로 읽어오므로 TEXT 타입인 content 컬럼이나
+ * 작성자/답변 같은 연관 엔티티를 로딩하지 않는다.
+ * @param id          질문 ID.
+ * @param subject     질문 제목.
+ * @param authorName  작성자 사용자명 (작성자가 없으면 null).
+ * @param createDate  작성 일시.
+ * @param answerCount 답변 수 (비정규화 컬럼).
+ */
+public record QuestionListItem(int id, String subject, String authorName, LocalDateTime createDate, int answerCount) {
+}
@@ -0,0 +1,202 @@
+package com.mysite.sbb.question;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mysite.sbb.search.SearchService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 익명 사용자의 질문 목록/상세 화면을 렌더링된 HTML 그대로 캐시하고 ETag/Last-Modified로 조건부 요청(304)을 처리하는 필터.
+ * 익명 화면에는 사용자별 내용(추천 여부, 수정 버튼, CSRF 토큰)이 없으므로 화면 전체를 모든 익명 사용자가 공유할 수 있다.
+ * 캐시 키와 ETag는 URL + 내용 버전으로 만든다.
+ * - 상세: 질문의 수정일시/답변 수/추천 수와 답변들의 최종 수정일시/추천 수 합계를 한 번의 쿼리로 읽은 값
+ * - 목록: QuestionListCache의 세대 번호 (DB 조회 없음)
+ * 버전이 같으면 렌더링과 나머지 조회 없이 304 또는 캐시된 HTML로 응답한다.
+ * 추천 수 변경은 Last-Modified에 나타나지 않으므로 If-Modified-Since는 사용하지 않고 If-None-Match만 비교한다.
+ * 백그라운드 삭제 중인 질문은 캐시와 304 없이 컨트롤러로 넘겨 404로 응답하고, 삭제가 시작되면 그 질문의 캐시된 화면을 제거한다.
+ * 스프링 시큐리티 필터 뒤에서 실행되어야 인증 정보를 확인할 수 있다. (기본 순서 LOWEST_PRECEDENCE)
+ */
+@Component
+public class QuestionPageCacheFilter extends OncePerRequestFilter {
+
+    // 9자리까지만 캐시 대상으로 본다. 더 긴 ID는 int 범위를 넘을 수 있으므로 캐시 없이 컨트롤러로 넘긴다.
+    private static final Pattern DETAIL_PATH = Pattern.compile("/question/detail/(\\d{1,9})");
+    private static final String LIST_PATH = "/question/list";
+
+    private static final String DETAIL_VERSION_SQL = "select q.create_date, q.modify_date, q.answer_count, q.vote_count, "
+            + "(select max(coalesce(a.modify_date, a.create_date)) from answer a where a.question_id = q.id), "
+            + "(select coalesce(sum(a.vote_count), 0) from answer a where a.question_id = q.id) "
+            + "from question q where q.id = ?";
+
+    private record PageVersion(String value, long lastModified) {
+    }
+
+    // questionId: 상세 화면이면 질문 ID, 목록이면 0 (삭제 시작 시 제거할 화면을 찾는 데 사용)
+    private record RenderedPage(byte[] body, String contentType, int questionId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuestionListCache questionListCache;
+    private final SearchService searchService;
+    private final QuestionPurger questionPurger;
+    private final boolean enabled;
+    // ETag -> 렌더링된 화면. ETag에 버전이 들어 있으므로 내용이 바뀌면 자연히 다른 키가 된다.
+    private final Cache<String, RenderedPage> pages;
+
+    public QuestionPageCacheFilter(JdbcTemplate jdbcTemplate, QuestionListCache questionListCache,
+                                   SearchService searchService, QuestionPurger questionPurger,
+                                   @Value("${sbb.page-cache.enabled:true}") boolean enabled,
+                                   @Value("${sbb.page-cache.max-bytes:33554432}") long maxBytes,
+                                   @Value("${sbb.page-cache.ttl:60s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.questionListCache = questionListCache;
+        this.searchService = searchService;
+        this.questionPurger = questionPurger;
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String etag, RenderedPage page) -> page.body().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !LIST_PATH.equals(path) && !DETAIL_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int questionId = questionId(path(request));
+        if (questionId != 0 && questionPurger.isPurging(questionId)) {
+            // 삭제 중인 질문: 답변을 나누어 지우는 동안 버전이 그대로일 수 있으므로 캐시와 ETag를 쓰지 않는다.
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PageVersion version = isAnonymous() ? version(path(request)) : null;
+        if (version == null) {
+            // 로그인 사용자 화면 또는 존재하지 않는 질문(컨트롤러가 404 처리)
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String query = request.getQueryString();
+        String etag = etag(path(request) + (query == null ? "" : "?" + query) + "#" + version.value());
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            writeValidators(response, etag, version);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        RenderedPage page = pages.getIfPresent(etag);
+        if (page != null) {
+            writeValidators(response, etag, version);
+            response.setContentType(page.contentType());
+            response.setContentLength(page.body().length);
+            response.getOutputStream().write(page.body());
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        // 본문은 아직 wrapper에 버퍼링되어 있으므로 정상 응답이면 헤더를 추가할 수 있다.
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && !response.isCommitted()) {
+            writeValidators(wrapper, etag, version);
+            pages.put(etag, new RenderedPage(wrapper.getContentAsByteArray(), wrapper.getContentType(), questionId));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // 백그라운드 삭제가 시작되면 그 질문의 캐시된 상세 화면(모든 답변 페이지/정렬)을 제거한다. (드문 작업이므로 전체를 훑는다)
+    @EventListener
+    public void onPurgeStarted(QuestionPurger.PurgeStarted event) {
+        pages.asMap().values().removeIf(page -> page.questionId() == event.questionId());
+    }
+
+    // 상세 화면 경로의 질문 ID (상세 화면이 아니면 0)
+    private static int questionId(String path) {
+        Matcher matcher = DETAIL_PATH.matcher(path);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private PageVersion version(String path) {
+        if (LIST_PATH.equals(path)) {
+            // 색인 구축 전후로 검색 결과(순서)가 달라지므로 색인 사용 여부도 버전에 포함
+            return new PageVersion(questionListCache.version() + "." + searchService.isEnabled(),
+                    questionListCache.lastModified());
+        }
+        Matcher matcher = DETAIL_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        List<PageVersion> versions = jdbcTemplate.query(DETAIL_VERSION_SQL, (rs, rowNum) -> {
+            long lastModified = latest(rs.getTimestamp(1), rs.getTimestamp(2), rs.getTimestamp(5));
+            String value = lastModified + "." + rs.getInt(3) + "." + rs.getInt(4) + "." + rs.getLong(6);
+            return new PageVersion(value, lastModified);
+        }, Integer.parseInt(matcher.group(1)));
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    // 익명 화면을 브라우저가 저장하되 매번 ETag로 재검증하도록 한다. (스프링 시큐리티의 기본 no-store 대신)
+    private static void writeValidators(HttpServletResponse response, String etag, PageVersion version) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+
+    private static boolean isAnonymous() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static long latest(Timestamp... timestamps) {
+        long latest = 0;
+        for (Timestamp timestamp : timestamps) {
+            if (timestamp != null) {
+                latest = Math.max(latest, timestamp.getTime());
+            }
+        }
+        return latest;
+    }
+
+    // 같은 버전이면 같은 바이트를 응답하므로 강한(strong) ETag를 사용한다.
+    private static String etag(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
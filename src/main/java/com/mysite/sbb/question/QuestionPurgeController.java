@@ -0,0 +1,26 @@
+package com.mysite.sbb.question;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 답변이 많은 질문의 백그라운드 삭제 진행 상황을 JSON으로 보여주는 관리자용 엔드포인트.
+ */
+@RequestMapping("/admin/purge")
+@RequiredArgsConstructor
+@RestController
+public class QuestionPurgeController {
+
+    private final QuestionPurger questionPurger;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public List<QuestionPurger.Progress> progress() {
+        return questionPurger.progress();
+    }
+}
@@ -0,0 +1,251 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.search.SearchService;
+import com.mysite.sbb.vote.VoteTarget;
+import com.mysite.sbb.vote.VoterIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 질문과 그 답변/추천을 집합 단위 SQL로 삭제한다.
+ * JPA의 CascadeType.REMOVE는 답변을 모두 로딩해 한 건씩 지우므로, 답변이 많은 질문은 요청 스레드와 잠금을 오래 붙잡는다.
+ * 대신 answer_voter -> answer -> question_voter -> question 순으로 질문 ID 조건의 delete 문을 실행한다.
+ * 답변 수가 sbb.question.purge.async-threshold 이상이면 백그라운드(TaskExecutor)에서 chunk-size개 답변씩 나누어 지우고,
+ * 진행 상황은 관리자 엔드포인트(/admin/purge)에서 확인할 수 있다. 삭제 중인 질문은 조회 시 없는 질문으로 취급한다.
+ * (진행 상황은 이 노드의 메모리에만 있다)
+ */
+@Slf4j
+@Component
+public class QuestionPurger {
+
+    // 완료된 삭제 작업 기록을 최대 몇 건까지 보관할지
+    private static final int KEPT_FINISHED = 100;
+
+    public enum State {QUEUED, RUNNING, DONE, FAILED}
+
+    /**
+     * 백그라운드 삭제 작업의 진행 상황 스냅샷.
+     * @param totalAnswers   삭제 요청 시점의 답변 수.
+     * @param deletedAnswers 지금까지 삭제한 답변 수.
+     */
+    public record Progress(int questionId, State state, int totalAnswers, int deletedAnswers,
+                           LocalDateTime requestedAt, LocalDateTime finishedAt, String error) {
+    }
+
+    /**
+     * 백그라운드 삭제가 시작되었음을 알리는 이벤트. (렌더링된 화면 캐시 제거)
+     */
+    public record PurgeStarted(int questionId) {
+    }
+
+    private static final class Job {
+        final int questionId;
+        final int totalAnswers;
+        final LocalDateTime requestedAt = LocalDateTime.now();
+        final AtomicInteger deletedAnswers = new AtomicInteger();
+        volatile State state = State.QUEUED;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(int questionId, int totalAnswers) {
+            this.questionId = questionId;
+            this.totalAnswers = totalAnswers;
+        }
+
+        Progress snapshot() {
+            return new Progress(questionId, state, totalAnswers, deletedAnswers.get(), requestedAt, finishedAt, error);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final SearchService searchService;
+    private final VoterIndex voterIndex;
+    private final QuestionListCache questionListCache;
+    private final QuestionDetailCache questionDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int asyncThreshold;
+    private final int chunkSize;
+
+    private final Map<Integer, Job> jobs = new ConcurrentHashMap<>();
+
+    public QuestionPurger(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TaskExecutor taskExecutor,
+                          EntityCacheEvictor entityCacheEvictor, SearchService searchService, VoterIndex voterIndex,
+                          QuestionListCache questionListCache, QuestionDetailCache questionDetailCache,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${sbb.question.purge.async-threshold:1000}") int asyncThreshold,
+                          @Value("${sbb.question.purge.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.searchService = searchService;
+        this.voterIndex = voterIndex;
+        this.questionListCache = questionListCache;
+        this.questionDetailCache = questionDetailCache;
+        this.eventPublisher = eventPublisher;
+        this.asyncThreshold = asyncThreshold;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 질문을 삭제한다. 답변이 많으면 백그라운드 삭제 대기열에 넣고 바로 반환한다.
+     * @param questionId  삭제할 질문 ID.
+     * @param answerCount 질문의 답변 수 (비정규화 컬럼 값).
+     * @return 백그라운드에서 삭제하도록 넘겼으면 true, 바로 삭제했으면 false.
+     */
+    public boolean delete(int questionId, int answerCount) {
+        if (asyncThreshold <= 0 || answerCount < asyncThreshold) {
+            List<Integer> answerIds = transactionTemplate.execute(status -> deleteAll(questionId));
+            afterDelete(questionId, answerIds);
+            return false;
+        }
+        Job job = new Job(questionId, answerCount);
+        // 같은 질문의 삭제가 이미 진행 중이면 새 작업을 만들지 않는다.
+        if (jobs.compute(questionId, (id, existing) -> existing != null && existing.finishedAt == null ? existing : job) != job) {
+            return true;
+        }
+        pruneFinished();
+        // 삭제가 끝나기 전에도 목록/상세/검색에 보이지 않도록 먼저 제거한다.
+        // (작업이 jobs에 등록된 뒤이므로 캐시를 다시 채우는 목록 쿼리는 hiddenIds로 이 질문을 제외한다)
+        searchService.removeQuestion(questionId);
+        questionListCache.onQuestionAddedOrRemoved();
+        questionDetailCache.invalidate(questionId);
+        eventPublisher.publishEvent(new PurgeStarted(questionId));
+        taskExecutor.execute(() -> purge(job));
+        return true;
+    }
+
+    /**
+     * 백그라운드 삭제가 진행 중(대기 포함)인 질문인지 확인한다.
+     */
+    public boolean isPurging(int questionId) {
+        Job job = jobs.get(questionId);
+        return job != null && (job.state == State.QUEUED || job.state == State.RUNNING);
+    }
+
+    /**
+     * 목록 쿼리에서 제외할 질문 ID (백그라운드 삭제가 진행 중인 질문).
+     * JPQL의 not in 조건에 그대로 넘길 수 있도록, 없으면 존재하지 않는 ID 0 하나를 담아 반환한다.
+     */
+    public List<Integer> hiddenIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.state == State.QUEUED || job.state == State.RUNNING) {
+                ids.add(job.questionId);
+            }
+        }
+        return ids.isEmpty() ? List.of(0) : ids;
+    }
+
+    /**
+     * 백그라운드 삭제 작업 목록 (최근 요청 순).
+     */
+    public List<Progress> progress() {
+        List<Progress> result = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            result.add(job.snapshot());
+        }
+        result.sort(Comparator.comparing(Progress::requestedAt).reversed());
+        return result;
+    }
+
+    // 작은 질문: 한 트랜잭션에서 4개의 delete 문으로 삭제한다. 캐시 제거를 위해 답변 ID를 먼저 구한다.
+    private List<Integer> deleteAll(int questionId) {
+        List<Integer> answerIds = jdbcTemplate.queryForList(
+                "select id from answer where question_id = ?", Integer.class, questionId);
+        jdbcTemplate.update("delete from answer_voter where answer_id in (select id from answer where question_id = ?)", questionId);
+        jdbcTemplate.update("delete from answer where question_id = ?", questionId);
+        jdbcTemplate.update("delete from question_voter where question_id = ?", questionId);
+        jdbcTemplate.update("delete from question where id = ?", questionId);
+        return answerIds;
+    }
+
+    // 큰 질문: 답변을 chunk-size개씩 각각의 짧은 트랜잭션으로 지운 뒤, 남은 답변(삭제 중 추가된 것 포함)과 질문을 지운다.
+    private void purge(Job job) {
+        int questionId = job.questionId;
+        job.state = State.RUNNING;
+        long started = System.currentTimeMillis();
+        try {
+            while (true) {
+                List<Integer> answerIds = jdbcTemplate.queryForList(
+                        "select id from answer where question_id = ? order by id limit ?", Integer.class, questionId, chunkSize);
+                if (answerIds.isEmpty()) {
+                    break;
+                }
+                String in = String.join(",", Collections.nCopies(answerIds.size(), "?"));
+                Object[] args = answerIds.toArray();
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("delete from answer_voter where answer_id in (" + in + ")", args);
+                    jdbcTemplate.update("delete from answer where id in (" + in + ")", args);
+                });
+                evictAnswers(answerIds);
+                job.deletedAnswers.addAndGet(answerIds.size());
+            }
+            List<Integer> remaining = transactionTemplate.execute(status -> deleteAll(questionId));
+            job.deletedAnswers.addAndGet(remaining.size());
+            afterDelete(questionId, remaining);
+            job.state = State.DONE;
+            log.info("question {} purged: {} answers in {} ms", questionId, job.deletedAnswers.get(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.state = State.FAILED;
+            log.error("question {} purge failed after {} answers", questionId, job.deletedAnswers.get(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // 삭제가 커밋된 뒤 2차 캐시, 검색 색인, 추천인 인덱스, 목록/상세 캐시에서 질문과 답변을 제거한다.
+    private void afterDelete(int questionId, List<Integer> answerIds) {
+        entityCacheEvictor.evict(Question.class, questionId);
+        evictAnswers(answerIds);
+        voterIndex.evict(VoteTarget.QUESTION, questionId);
+        searchService.removeQuestion(questionId);
+        questionListCache.onQuestionAddedOrRemoved();
+        questionDetailCache.invalidate(questionId);
+    }
+
+    private void evictAnswers(List<Integer> answerIds) {
+        for (int answerId : answerIds) {
+            entityCacheEvictor.evict(Answer.class, answerId);
+            voterIndex.evict(VoteTarget.ANSWER, answerId);
+        }
+    }
+
+    // 완료/실패한 작업 기록이 많아지면 오래된 것부터 지운다.
+    private void pruneFinished() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.finishedAt != null) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() <= KEPT_FINISHED) {
+            return;
+        }
+        finished.sort(Comparator.comparing(job -> job.finishedAt));
+        for (int i = 0; i < finished.size() - KEPT_FINISHED; i++) {
+            jobs.remove(finished.get(i).questionId, finished.get(i));
+        }
+    }
+}
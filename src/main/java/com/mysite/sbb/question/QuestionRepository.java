@@ -3,10 +3,13 @@ package com.mysite.sbb.question;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +18,11 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
 
     Optional<Question> findBySubject(String subject);
 
+    // 질문 상세 화면용: 작성자를 함께 조회 (fetch join)
+    @EntityGraph(attributePaths = "author")
+    @Query("select q from Question q where q.id = :id")
+    Optional<Question> findWithAuthorById(@Param("id") int id);
+
     Optional<Question> findBySubjectAndContent(String subject, String content);
 
     List<Question> findBySubjectLike(String subjectLike);
@@ -35,4 +43,75 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
             + "   or a.content like %:kw% "
             + "   or u2.username like %:kw% ")
     Page<Question> findAllByKeyword(@Param("kw") String kw, Pageable pageable);
+
+    // 목록 화면용 projection 쿼리: 필요한 컬럼만 select 하여 content(TEXT) 로딩과 작성자 N+1 조회를 피한다.
+    // 목록/커서 쿼리의 hidden: 백그라운드 삭제 중인 질문 ID (QuestionPurger.hiddenIds, 비어 있지 않음)
+    String LIST_ITEM = "new com.mysite.sbb.question.QuestionListItem(q.id, q.subject, u.username, q.createDate, q.answerCount) ";
+
+    @Query(value = "select " + LIST_ITEM
+            + "from Question q "
+            + "left outer join q.author u "
+            + "where q.id not in :hidden",
+            countQuery = "select count(q) from Question q where q.id not in :hidden")
+    Page<QuestionListItem> findListItems(@Param("hidden") Collection<Integer> hidden, Pageable pageable);
+
+    @Query(value = "select "
+            + "distinct " + LIST_ITEM
+            + "from Question q "
+            + "left outer join q.author u "
+            + "left outer join Answer a on a.question=q "
+            + "left outer join SiteUser u2 on a.author=u2 "
+            + "where q.id not in :hidden and ("
+            + "   q.subject like %:kw% "
+            + "   or q.content like %:kw% "
+            + "   or u.username like %:kw% "
+            + "   or a.content like %:kw% "
+            + "   or u2.username like %:kw%) ",
+            countQuery = "select "
+                    + "count(distinct q) "
+                    + "from Question q "
+                    + "left outer join q.author u "
+                    + "left outer join Answer a on a.question=q "
+                    + "left outer join SiteUser u2 on a.author=u2 "
+                    + "where q.id not in :hidden and ("
+                    + "   q.subject like %:kw% "
+                    + "   or q.content like %:kw% "
+                    + "   or u.username like %:kw% "
+                    + "   or a.content like %:kw% "
+                    + "   or u2.username like %:kw%) ")
+    Page<QuestionListItem> findListItemsByKeyword(@Param("kw") String kw, @Param("hidden") Collection<Integer> hidden,
+                                                  Pageable pageable);
+
+    @Query("select " + LIST_ITEM
+            + "from Question q "
+            + "left outer join q.author u "
+            + "where q.id in :ids")
+    List<QuestionListItem> findListItemsByIds(@Param("ids") Collection<Integer> ids);
+
+    // keyset 페이징: (createDate, id) 복합 인덱스를 따라 최신순으로 limit 건만 읽는다. (OFFSET, count 쿼리 없음)
+    @Query("select " + LIST_ITEM
+            + "from Question q left outer join q.author u "
+            + "where q.id not in :hidden "
+            + "order by q.createDate desc, q.id desc")
+    List<QuestionListItem> findLatest(@Param("hidden") Collection<Integer> hidden, Pageable pageable);
+
+    // 커서보다 오래된 질문 (다음 페이지). createDate <= :createDate 조건은 인덱스 범위 탐색을 위한 것.
+    @Query("select " + LIST_ITEM
+            + "from Question q left outer join q.author u "
+            + "where q.createDate <= :createDate "
+            + "   and (q.createDate < :createDate or q.id < :id) "
+            + "   and q.id not in :hidden "
+            + "order by q.createDate desc, q.id desc")
+    List<QuestionListItem> findOlderThan(@Param("createDate") LocalDateTime createDate, @Param("id") int id,
+                                           @Param("hidden") Collection<Integer> hidden, Pageable pageable);
+
+    // 커서보다 최신인 질문 (이전 페이지). 커서에 가까운 것부터 읽기 위해 오름차순으로 조회한다.
+    @Query("select " + LIST_ITEM
+            + "from Question q left outer join q.author u "
+            + "where q.createDate >= :createDate "
+            + "   and (q.createDate > :createDate or q.id > :id) "
+            + "   and q.id not in :hidden "
+            + "order by q.createDate asc, q.id asc")
+    List<QuestionListItem> findNewerThan(@Param("createDate") LocalDateTime createDate, @Param("id") int id,
+                                           @Param("hidden") Collection<Integer> hidden, Pageable pageable);
 }
\ No newline at end of file
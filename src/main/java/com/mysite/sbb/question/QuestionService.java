@@ -1,21 +1,32 @@
 package com.mysite.sbb.question;
 
+import com.mysite.sbb.CommonUtil;
 import com.mysite.sbb.DataNotFoundException;
-import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.answer.AnswerSort;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.metrics.BoardMetrics;
+import com.mysite.sbb.search.SearchResult;
+import com.mysite.sbb.search.SearchService;
 import com.mysite.sbb.user.SiteUser;
-import jakarta.persistence.criteria.*;
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteService;
+import com.mysite.sbb.vote.VoteTarget;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 질문 엔티티(Question) 관련 비즈니스 로직을 담당하는 서비스 계층 클래스.
@@ -23,36 +34,28 @@ import java.util.Optional;
  */
 @RequiredArgsConstructor // final 필드에 대한 생성자 기반 의존성 주입 명시.
 @Service // 해당 클래스가 Spring의 서비스 빈임을 선언.
+@Timed(value = "sbb.service", histogram = true) // 메서드별 실행 시간 (sbb.service{class, method} 타이머, 백분위 히스토그램 포함)
 public class QuestionService {
 
+    // 목록 한 페이지의 질문 수.
+    private static final int PAGE_SIZE = 10;
+
     // 데이터베이스 접근을 담당하는 Repository 빈 의존성 주입.
     private final QuestionRepository questionRepository;
-    /**
-     * q: Root 자료형으로, 즉 기준이 되는 Question 엔티티의 객체를 의미하며 질문 제목과 내용을 검색하기 위해 필요하다.
-     * u1: Question 엔티티와 SiteUser 엔티티를 아우터 조인(여기서는 JoinType.LEFT로 아우터 조인을 적용한다.)하여 만든 SiteUser 엔티티의 객체이다.
-     * Question 엔티티와 SiteUser 엔티티는 author 속성으로 연결되어 있어서 q.join("author")와 같이 조인해야 한다. u1 객체는 질문 작성자를 검색하기 위해 필요하다.
-     * a: Question 엔티티와 Answer 엔티티를 아우터 조인하여 만든 Answer 엔티티의 객체이다.
-     * Question 엔티티와 Answer 엔티티는 answerList 속성으로 연결되어 있어서 q.join("answerList")와 같이 조인해야 한다. a 객체는 답변 내용을 검색할 때 필요하다.
-     * u2: 바로 앞에 작성한 a 객체와 다시 한번 SiteUser 엔티티와 아우터 조인하여 만든 SiteUser 엔티티의 객체로 답변 작성자를 검색할 때 필요하다.
-     * */
-    private Specification<Question> search(String kw) {
-        return new Specification<>() {
-            private static final long serialVersionUID = 1L;
-            @Override
-            public Predicate toPredicate(Root<Question> q, CriteriaQuery<?> query, CriteriaBuilder cb) {
-                query.distinct(true);  // 중복을 제거
-                Join<Question, SiteUser> u1 = q.join("author", JoinType.LEFT);
-                Join<Question, Answer> a = q.join("answerList", JoinType.LEFT);
-                Join<Answer, SiteUser> u2 = a.join("author", JoinType.LEFT);
-                return cb.or(cb.like(q.get("subject"), "%" + kw + "%"), // 제목
-                        cb.like(q.get("content"), "%" + kw + "%"),      // 내용
-                        cb.like(u1.get("username"), "%" + kw + "%"),    // 질문 작성자
-                        cb.like(a.get("content"), "%" + kw + "%"),      // 답변 내용
-                        cb.like(u2.get("username"), "%" + kw + "%"));   // 답변 작성자
-            }
-        };
-    }
-
+    // 질문 검색 색인. 질문 생성/수정/삭제 시 색인도 함께 갱신한다.
+    private final SearchService searchService;
+    // 저장 시점에 마크다운을 HTML로 미리 렌더링하기 위해 사용.
+    private final CommonUtil commonUtil;
+    private final VoteService voteService;
+    private final EntityCacheEvictor entityCacheEvictor;
+    // 목록/검색 앞쪽 페이지 캐시. 질문 생성/수정/삭제 시 세대 번호를 올려 무효화한다.
+    private final QuestionListCache questionListCache;
+    // 질문 상세 화면 스냅샷 캐시. 질문 수정/삭제/추천 시 해당 질문 스냅샷을 제거한다.
+    private final QuestionDetailCache questionDetailCache;
+    // 질문 삭제(답변/추천 일괄 삭제, 답변이 많으면 백그라운드 삭제)
+    private final QuestionPurger questionPurger;
+    // 검색어 길이 구간별 검색 수
+    private final BoardMetrics boardMetrics;
 
     /**
      * 특정 ID를 가진 질문을 조회하는 메서드.
@@ -64,8 +67,8 @@ public class QuestionService {
         // Repository를 통해 ID로 질문을 조회 (Optional 타입 반환).
         Optional<Question> question = this.questionRepository.findById(id);
 
-        // Optional 객체에 Question 엔티티가 존재하는지 확인.
-        if (question.isPresent()) {
+        // Optional 객체에 Question 엔티티가 존재하는지 확인. (백그라운드 삭제 중인 질문은 없는 것으로 취급)
+        if (question.isPresent() && !this.questionPurger.isPurging(id)) {
             return question.get(); // 엔티티 반환.
         } else {
             // 엔티티가 존재하지 않을 경우 사용자 정의 예외 발생.
@@ -73,18 +76,38 @@ public class QuestionService {
         }
     }
 
+    /**
+     * 질문 상세 화면에 필요한 데이터를 조회하는 메서드.
+     * 같은 질문에 대한 동시 요청은 QuestionDetailCache에서 하나의 조회/렌더링으로 묶인다. (조회 자체는 QuestionDetailLoader)
+     * (추천 수는 비정규화 컬럼을 사용하므로 voter 컬렉션을 로딩하지 않는다.)
+     * @param id         조회할 질문 ID.
+     * @param answerPage 답변 페이지 번호.
+     * @param sort       답변 정렬 방식.
+     * @return 질문 상세 화면 모델.
+     * @throws DataNotFoundException 해당 ID의 질문이 존재하지 않을 경우 예외 발생.
+     */
+    public QuestionDetail getQuestionDetail(Integer id, int answerPage, AnswerSort sort) {
+        if (this.questionPurger.isPurging(id)) {
+            throw new DataNotFoundException("question not found");
+        }
+        return this.questionDetailCache.get(id, answerPage, sort);
+    }
+
     /**
      * 새로운 질문을 생성하고 저장하는 메서드.
      * @param subject 생성할 질문의 제목.
      * @param content 생성할 질문의 내용.
+     * @param user    작성자 (ID만 채워진 참조여도 된다).
+     * @param authorName 작성자 사용자명. 검색 색인에 쓰며, 작성자 참조를 초기화하지 않기 위해 따로 받는다.
      */
-    public void create(String subject, String content, SiteUser user) {
+    public void create(String subject, String content, SiteUser user, String authorName) {
         // 새로운 Question 엔티티 객체 생성.
         Question q = new Question();
 
         // 제목, 내용 설정.
         q.setSubject(subject);
         q.setContent(content);
+        q.setContentHtml(this.commonUtil.render(content));
 
         // 생성 일시를 현재 시간으로 설정.
         q.setCreateDate(LocalDateTime.now());
@@ -92,29 +115,145 @@ public class QuestionService {
 
         // Repository를 통해 데이터베이스에 엔티티 저장.
         this.questionRepository.save(q);
+        this.searchService.indexQuestion(q, authorName);
+        this.questionListCache.onQuestionAddedOrRemoved();
     }
 
-    public Page<Question> getList(int page, String kw) {
+    /**
+     * 질문 목록을 페이징하여 조회하는 메서드.
+     * 검색 색인이 활성화되어 있으면 색인에서 랭킹된 질문 ID 한 페이지를 구한 뒤 한 번의 IN 쿼리로 엔티티를 조회하고,
+     * 그렇지 않으면(sbb.search.mode=jpql 또는 색인 구축 중) 기존 LIKE 검색 쿼리를 사용한다.
+     * 앞쪽 페이지(sbb.list.cache.pages 미만)는 QuestionListCache에 ID 목록과 전체 건수를 캐시하여,
+     * 캐시 적중 시 count/검색 없이 ID IN 쿼리 한 번으로 응답한다.
+     * @param page 조회할 페이지 번호 (0부터 시작).
+     * @param kw   검색어 (빈 문자열이면 전체 목록).
+     * @return 목록 화면용 질문 페이지.
+     */
+    public Page<QuestionListItem> getList(int page, String kw) {
+        this.boardMetrics.searched(kw);
         List<Sort.Order> sorts = new ArrayList<>();
         sorts.add(Sort.Order.desc("createDate"));
-        Pageable pageable = PageRequest.of(page, 10, Sort.by(sorts));
-        Specification<Question> spec = search(kw);
-        return this.questionRepository.findAllByKeyword(kw, pageable);
+        sorts.add(Sort.Order.desc("id"));
+        Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by(sorts));
+        boolean indexed = this.searchService.isEnabled();
+        // LIKE 검색은 대소문자를 구분하므로, 정규화된 검색어를 키로 쓰는 캐시는 전체 목록과 색인 검색에만 적용한다.
+        if (!this.questionListCache.isCacheable(page) || (!indexed && !kw.isBlank())) {
+            return loadList(pageable, kw, indexed);
+        }
+        // 캐시를 채운 요청은 조회한 페이지를 그대로 사용한다. (ID로 다시 읽지 않음)
+        AtomicReference<Page<QuestionListItem>> loaded = new AtomicReference<>();
+        QuestionListCache.CachedPage cached = this.questionListCache.get(kw, page, kw.isBlank() ? "latest" : "rank", () -> {
+            Page<QuestionListItem> result = loadList(pageable, kw, indexed);
+            loaded.set(result);
+            return new QuestionListCache.CachedPage(
+                    result.map(QuestionListItem::id).getContent(), result.getTotalElements());
+        });
+        if (loaded.get() != null) {
+            return loaded.get();
+        }
+        return new PageImpl<>(findListItemsInOrder(cached.ids()), pageable, cached.total());
+    }
+
+    private Page<QuestionListItem> loadList(Pageable pageable, String kw, boolean indexed) {
+        if (!indexed) {
+            return this.questionRepository.findListItemsByKeyword(kw, this.questionPurger.hiddenIds(), pageable);
+        }
+        if (kw.isBlank()) {
+            // 검색어가 없으면 조인/LIKE 없이 최신순으로 조회.
+            return this.questionRepository.findListItems(this.questionPurger.hiddenIds(), pageable);
+        }
+        SearchResult result = this.searchService.search(kw, pageable);
+        return new PageImpl<>(findListItemsInOrder(result.ids()), pageable, result.total());
     }
 
-    public void modify(Question question, String subject, String content) {
+    // ID 목록 순서(최신순 또는 색인 랭킹 순)대로 목록 항목을 조회한다.
+    private List<QuestionListItem> findListItemsInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<QuestionListItem> questions = new ArrayList<>(this.questionRepository.findListItemsByIds(ids));
+        // 캐시된 ID 목록에 그 뒤 백그라운드 삭제가 시작된 질문이 남아 있을 수 있다.
+        questions.removeIf(q -> this.questionPurger.isPurging(q.id()));
+        // IN 쿼리는 순서를 보장하지 않으므로 ID 목록 순서로 다시 정렬.
+        questions.sort(Comparator.comparingInt(q -> ids.indexOf(q.id())));
+        return questions;
+    }
+
+    /**
+     * 질문 목록을 keyset(커서) 방식으로 조회하는 메서드.
+     * (createDate, id) 기준으로 커서 바로 다음 행부터 한 페이지 + 1건만 읽어 다음 페이지 존재 여부를 판단하므로
+     * 페이지가 깊어져도 OFFSET 비용과 전체 count 쿼리가 발생하지 않는다.
+     * @param cursor   기준 커서 (null이면 첫 페이지).
+     * @param backward true면 커서보다 최신인 이전 페이지, false면 커서보다 오래된 다음 페이지를 조회.
+     * @return 최신순으로 정렬된 한 페이지와 이전/다음 커서.
+     */
+    public CursorPage<QuestionListItem> getCursorList(QuestionCursor cursor, boolean backward) {
+        Pageable limit = PageRequest.of(0, PAGE_SIZE + 1);
+        // 백그라운드 삭제 중인 질문은 목록에서 제외한다.
+        List<Integer> hidden = this.questionPurger.hiddenIds();
+        if (cursor == null) {
+            List<QuestionListItem> rows = this.questionRepository.findLatest(hidden, limit);
+            return toCursorPage(rows, false, rows.size() > PAGE_SIZE);
+        }
+        if (backward) {
+            List<QuestionListItem> rows = new ArrayList<>(
+                    this.questionRepository.findNewerThan(cursor.createDate(), cursor.id(), hidden, limit));
+            boolean hasMore = rows.size() > PAGE_SIZE;
+            if (hasMore) {
+                rows = rows.subList(0, PAGE_SIZE);
+            }
+            Collections.reverse(rows);
+            // 이전 페이지로 이동했으므로 커서 행을 포함한 더 오래된 페이지는 항상 존재한다.
+            return toCursorPage(rows, hasMore, true);
+        }
+        List<QuestionListItem> rows = this.questionRepository.findOlderThan(cursor.createDate(), cursor.id(), hidden, limit);
+        return toCursorPage(rows, true, rows.size() > PAGE_SIZE);
+    }
+
+    private CursorPage<QuestionListItem> toCursorPage(List<QuestionListItem> rows, boolean hasPrevious, boolean hasNext) {
+        List<QuestionListItem> content = rows.size() > PAGE_SIZE ? rows.subList(0, PAGE_SIZE) : rows;
+        if (content.isEmpty()) {
+            return new CursorPage<>(content, null, null);
+        }
+        String previousCursor = hasPrevious ? QuestionCursor.of(content.get(0)).encode() : null;
+        String nextCursor = hasNext ? QuestionCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, previousCursor, nextCursor);
+    }
+
+    // authorName: 작성자 사용자명 (검색 색인용). 작성자만 수정할 수 있으므로 로그인 사용자의 이름이다.
+    public void modify(Question question, String subject, String content, String authorName) {
         question.setSubject(subject);
         question.setContent(content);
+        question.setContentHtml(this.commonUtil.render(content));
         question.setModifyDate(LocalDateTime.now());
         this.questionRepository.save(question);
+        // 수정 시 캐시에 다시 저장되는 엔티티에는 그 사이 JDBC로 바뀐 카운터가 빠져 있을 수 있으므로 제거한다.
+        this.entityCacheEvictor.evict(Question.class, question.getId());
+        this.searchService.indexQuestion(question, authorName);
+        this.questionListCache.onSearchableContentChanged();
+        this.questionDetailCache.invalidate(question.getId());
     }
 
-    public void delete(Question question) {
-        this.questionRepository.delete(question);
+    /**
+     * 질문과 답변, 추천을 삭제한다. 답변을 엔티티로 로딩하지 않고 QuestionPurger가 집합 단위 delete 문으로 지운다.
+     * @param question 삭제할 질문.
+     * @return 답변이 많아 백그라운드에서 삭제 중이면 true.
+     */
+    public boolean delete(Question question) {
+        return this.questionPurger.delete(question.getId(), question.getAnswerCount());
     }
 
-    public void vote(Question question, SiteUser siteUser) {
-        question.getVoter().add(siteUser);
-        this.questionRepository.save(question);
+    /**
+     * 질문을 추천하는 메서드. voter 컬렉션을 로딩하지 않고 VoteService가 조인 테이블에 직접 기록한다.
+     * @param id       추천할 질문 ID.
+     * @param voterId  추천하는 사용자 ID.
+     * @return 추천 결과 (이미 추천한 경우 ALREADY_VOTED).
+     */
+    public VoteResult vote(Integer id, int voterId) {
+        VoteResult result = this.voteService.vote(VoteTarget.QUESTION, id, voterId);
+        if (result == VoteResult.VOTED) {
+            this.questionDetailCache.invalidate(id);
+        }
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.CommonUtil;
+import com.mysite.sbb.user.AuthorView;
+
+import java.time.LocalDateTime;
+
+/**
+ * 질문 상세 화면의 질문 (변경 불가능한 스냅샷).
+ * 여러 요청이 같은 스냅샷을 공유하므로 영속성 컨텍스트에 묶인 엔티티 대신 이 값을 화면에 넘긴다.
+ * @param id          질문 ID.
+ * @param subject     제목.
+ * @param contentHtml 렌더링된 본문 HTML.
+ * @param createDate  작성 일시.
+ * @param voteCount   추천 수.
+ * @param answerCount 답변 수.
+ * @param author      작성자 (없으면 null).
+ */
+public record QuestionView(int id, String subject, String contentHtml, LocalDateTime createDate,
+                           int voteCount, int answerCount, AuthorView author) {
+
+    // 미리 렌더링된 HTML이 없는 예전 질문은 이 시점에 한 번 렌더링한다.
+    public static QuestionView of(Question question, CommonUtil commonUtil) {
+        String html = question.getContentHtml() != null
+                ? question.getContentHtml() : commonUtil.markdown(question.getContent());
+        return new QuestionView(question.getId(), question.getSubject(), html, question.getCreateDate(),
+                question.getVoteCount(), question.getAnswerCount(), AuthorView.of(question.getAuthor()));
+    }
+}
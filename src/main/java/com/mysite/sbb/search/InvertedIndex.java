@@ -0,0 +1,219 @@
+package com.mysite.sbb.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 질문 단위의 메모리 역색인(inverted index).
+ * 질문 본문과 각 답변을 별도의 "파트"로 색인하고, gram -> (파트 -> 가중치, 위치 서명) 형태의 posting만 보관한다.
+ * 검색 단어는 한 파트 안에서 그 bi-gram들이 연속한 위치에 있어야 일치한다. (제목의 "ab"와 답변의 "bc"로 "abc"가 일치하지 않음)
+ * 파트별로는 기여한 gram 목록(posting 키 문자열을 그대로 참조)만 기억하여, 답변 하나가 수정/삭제되어도
+ * 그 파트의 posting만 바꾸는 증분 갱신이 가능하다.
+ * 읽기(검색)는 동시에, 쓰기(색인 갱신)는 단독으로 수행되도록 ReadWriteLock을 사용한다.
+ */
+class InvertedIndex {
+
+    // 질문 본문(제목/내용/작성자) 파트의 ID. 답변 파트는 답변 ID(양수)를 사용한다.
+    static final int QUESTION_PART = 0;
+
+    // 한 파트 안에서 gram의 가중치와 위치 서명. exact는 파트가 짧아 위치 서명만으로 인접 여부가 확정되는지 여부.
+    private record Hit(int weight, long positions, boolean exact) {
+    }
+
+    private static final class Posting {
+        private final String gram;
+        // 파트 키(질문 ID, 파트 ID) -> Hit
+        private final Map<Long, Hit> hits = new HashMap<>();
+
+        private Posting(String gram) {
+            this.gram = gram;
+        }
+    }
+
+    /**
+     * 검색 결과 하나.
+     * @param unverified 긴 파트에서만 일치하여 위치 서명으로 확정하지 못한 검색 단어 -> 그 파트 키 목록.
+     *                   호출 측이 실제 텍스트로 확인한다. 비어 있으면 확정된 결과.
+     */
+    record Match(int questionId, double score, Map<String, List<Long>> unverified) {
+    }
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    // 질문 ID -> (파트 ID -> 파트가 기여한 gram 목록)
+    private final Map<Integer, Map<Integer, String[]>> parts = new HashMap<>();
+    private int partCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    static long partKey(int questionId, int partId) {
+        return ((long) questionId << 32) | (partId & 0xFFFFFFFFL);
+    }
+
+    static int questionId(long partKey) {
+        return (int) (partKey >>> 32);
+    }
+
+    static int partId(long partKey) {
+        return (int) partKey;
+    }
+
+    void putQuestion(int questionId, NGramTokenizer.DocumentTerms terms) {
+        putPart(questionId, QUESTION_PART, terms);
+    }
+
+    void putAnswer(int questionId, int answerId, NGramTokenizer.DocumentTerms terms) {
+        putPart(questionId, answerId, terms);
+    }
+
+    void removeQuestion(int questionId) {
+        lock.writeLock().lock();
+        try {
+            Map<Integer, String[]> removed = parts.remove(questionId);
+            if (removed == null) {
+                return;
+            }
+            for (Map.Entry<Integer, String[]> part : removed.entrySet()) {
+                removeHits(partKey(questionId, part.getKey()), part.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return parts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 검색 단어가 (각각 어느 한 파트 안에서 연속으로) 나오는 질문을 점수 내림차순(동점이면 최신 ID 우선)으로 반환한다.
+     * 점수는 일치한 파트의 gram별 가중치의 로그 스케일 합에 희소성(idf)을 곱한 값이다.
+     * @param words 정규화된 검색 단어 목록 (비어 있지 않아야 함).
+     * @return 정렬된 결과 전체 (페이징은 호출 측에서 처리).
+     */
+    List<Match> search(List<String> words) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            Map<Integer, Map<String, List<Long>>> unverified = new HashMap<>();
+            for (String word : words) {
+                List<String> grams = NGramTokenizer.wordGrams(word);
+                List<Posting> lists = new ArrayList<>(grams.size());
+                for (String gram : grams) {
+                    Posting posting = postings.get(gram);
+                    if (posting == null) {
+                        return List.of();
+                    }
+                    lists.add(posting);
+                }
+                Map<Integer, Double> wordScores = new HashMap<>();
+                Set<Integer> verified = new HashSet<>();
+                Map<Integer, List<Long>> uncertain = new HashMap<>();
+                // 가장 짧은 posting의 파트만 후보로 보면 비교 횟수가 최소가 된다.
+                Posting shortest = lists.stream().min(Comparator.comparingInt(p -> p.hits.size())).orElseThrow();
+                for (Long key : shortest.hits.keySet()) {
+                    int questionId = questionId(key);
+                    if (scores != null && !scores.containsKey(questionId)) {
+                        continue;
+                    }
+                    // i번째 gram이 p+i 위치에 있으면 오른쪽으로 i만큼 돌린 서명의 p 비트가 켜진다. 모두 켜진 p가 있어야 인접.
+                    long adjacent = -1L;
+                    double score = 0;
+                    boolean exact = true;
+                    for (int i = 0; i < grams.size() && adjacent != 0; i++) {
+                        Posting posting = lists.get(i);
+                        Hit hit = posting.hits.get(key);
+                        if (hit == null) {
+                            adjacent = 0;
+                            break;
+                        }
+                        adjacent &= Long.rotateRight(hit.positions(), i);
+                        exact = hit.exact();
+                        score += Math.log1p(hit.weight()) * Math.log(1.0 + (double) partCount / posting.hits.size());
+                    }
+                    if (adjacent == 0) {
+                        continue;
+                    }
+                    wordScores.merge(questionId, score, Double::sum);
+                    // gram이 하나뿐인 단어(한두 글자)는 인접 조건이 없으므로 항상 확정이다.
+                    if (exact || grams.size() == 1) {
+                        verified.add(questionId);
+                    } else {
+                        uncertain.computeIfAbsent(questionId, k -> new ArrayList<>()).add(key);
+                    }
+                }
+                for (Map.Entry<Integer, List<Long>> entry : uncertain.entrySet()) {
+                    if (!verified.contains(entry.getKey())) {
+                        unverified.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(word, entry.getValue());
+                    }
+                }
+                if (scores != null) {
+                    Map<Integer, Double> previous = scores;
+                    wordScores.replaceAll((questionId, score) -> score + previous.get(questionId));
+                }
+                scores = wordScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Match> matches = new ArrayList<>(scores.size());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                matches.add(new Match(entry.getKey(), entry.getValue(),
+                        unverified.getOrDefault(entry.getKey(), Map.of())));
+            }
+            matches.sort(Comparator.comparingDouble(Match::score).reversed()
+                    .thenComparing(Comparator.comparingInt(Match::questionId).reversed()));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putPart(int questionId, int partId, NGramTokenizer.DocumentTerms terms) {
+        // 파트의 모든 Hit가 같은 키 객체를 공유하도록 한 번만 박싱한다.
+        Long key = partKey(questionId, partId);
+        boolean exact = terms.exact();
+        lock.writeLock().lock();
+        try {
+            Map<Integer, String[]> questionParts = parts.computeIfAbsent(questionId, k -> new HashMap<>());
+            String[] previous = questionParts.remove(partId);
+            if (previous != null) {
+                removeHits(key, previous);
+            }
+            String[] grams = new String[terms.terms().size()];
+            int i = 0;
+            for (Map.Entry<String, NGramTokenizer.Term> entry : terms.terms().entrySet()) {
+                Posting posting = postings.computeIfAbsent(entry.getKey(), Posting::new);
+                posting.hits.put(key, new Hit(entry.getValue().weight, entry.getValue().positions, exact));
+                grams[i++] = posting.gram;
+            }
+            questionParts.put(partId, grams);
+            partCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // lock을 잡은 상태에서 호출. 파트의 Hit를 지우고, 비게 된 posting은 제거하여 메모리를 회수한다.
+    private void removeHits(long key, String[] grams) {
+        for (String gram : grams) {
+            Posting posting = postings.get(gram);
+            if (posting != null) {
+                posting.hits.remove(key);
+                if (posting.hits.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        partCount--;
+    }
+}
@@ -0,0 +1,138 @@
+package com.mysite.sbb.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검색 색인용 문자 n-gram 토크나이저.
+ * 한국어는 띄어쓰기 단위가 아니라 조사/어미가 붙은 형태로 쓰이기 때문에 형태소 분석 대신
+ * 글자(음절) 단위의 uni-gram + bi-gram을 사용한다. ("스프링부트" 검색 시 "스프링부트에서"도 매칭)
+ * 영문/숫자도 동일한 규칙으로 잘라서 LIKE '%kw%'와 비슷한 부분 문자열 검색 결과를 낸다.
+ */
+final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    /**
+     * 파트(질문 본문 또는 답변 하나)의 gram별 가중치와 위치 서명.
+     * 위치 서명은 gram이 시작하는 글자 위치를 64로 나눈 나머지 비트를 모은 값으로, 검색 단어의 bi-gram들이
+     * 연속해서 나오는지(인접)를 텍스트 없이 확인하는 데 쓴다. 파트 길이가 64자 이하면 위치가 겹치지 않아 정확하다.
+     */
+    static final class DocumentTerms {
+        private final Map<String, Term> terms = new HashMap<>();
+        // 지금까지 더한 필드 길이의 합. 필드 사이에는 한 칸을 띄워 필드 경계를 넘는 gram이 인접하지 않게 한다.
+        private int length;
+
+        Map<String, Term> terms() {
+            return terms;
+        }
+
+        // 위치 서명만으로 인접 여부를 확정할 수 있는지 여부.
+        boolean exact() {
+            return length <= Long.SIZE;
+        }
+    }
+
+    static final class Term {
+        int weight;
+        long positions;
+    }
+
+    /**
+     * 문서(색인 대상) 텍스트를 n-gram으로 분해하여 가중치와 위치를 누적한다.
+     * @param text   색인할 텍스트 (null 허용).
+     * @param weight 필드 가중치 (제목 > 작성자 > 내용).
+     * @param terms  파트의 gram 누적 결과.
+     */
+    static void addDocumentTerms(String text, int weight, DocumentTerms terms) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = normalize(text);
+        int length = normalized.length();
+        int base = terms.length;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean tokenChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && runStart < 0) {
+                runStart = i;
+            } else if (!tokenChar && runStart >= 0) {
+                for (int j = runStart; j < i; j++) {
+                    // 한 글자 검색어도 찾을 수 있도록 uni-gram도 함께 색인한다.
+                    add(terms, normalized.substring(j, j + 1), weight, base + j);
+                    if (j + 1 < i) {
+                        add(terms, normalized.substring(j, j + 2), weight, base + j);
+                    }
+                }
+                runStart = -1;
+            }
+        }
+        terms.length = base + length + 1;
+    }
+
+    private static void add(DocumentTerms terms, String gram, int weight, int position) {
+        Term term = terms.terms.computeIfAbsent(gram, k -> new Term());
+        term.weight += weight;
+        term.positions |= 1L << (position & (Long.SIZE - 1));
+    }
+
+    /**
+     * 검색어를 정규화된 단어(글자/숫자가 이어진 구간)로 나눈다. 모든 단어가 일치하는 질문만 검색된다.
+     * @param keyword 사용자 검색어.
+     * @return 중복이 제거된 단어 목록 (검색어가 비어 있으면 빈 목록).
+     */
+    static List<String> queryWords(String keyword) {
+        Set<String> words = new LinkedHashSet<>();
+        if (keyword == null || keyword.isBlank()) {
+            return List.of();
+        }
+        String normalized = normalize(keyword);
+        int length = normalized.length();
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean tokenChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && runStart < 0) {
+                runStart = i;
+            } else if (!tokenChar && runStart >= 0) {
+                words.add(normalized.substring(runStart, i));
+                runStart = -1;
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    /**
+     * 검색 단어의 gram 목록. 두 글자 이상이면 앞에서부터 bi-gram(i번째 gram은 단어의 i번째 글자에서 시작),
+     * 한 글자면 uni-gram 하나.
+     */
+    static List<String> wordGrams(String word) {
+        if (word.length() == 1) {
+            return List.of(word);
+        }
+        List<String> grams = new ArrayList<>(word.length() - 1);
+        for (int i = 0; i + 1 < word.length(); i++) {
+            grams.add(word.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * 텍스트가 (정규화 후) 검색 단어를 그대로 포함하는지 여부. 위치 서명으로 확정할 수 없는 긴 파트를 확인할 때 쓴다.
+     * @param word queryWords가 돌려준 정규화된 단어.
+     */
+    static boolean contains(String text, String word) {
+        return text != null && normalize(text).contains(word);
+    }
+
+    // 전각/반각, 호환 자모 등을 통일하고 대소문자를 구분하지 않도록 소문자로 변환.
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,17 @@
+package com.mysite.sbb.search;
+
+import java.util.Locale;
+
+/**
+ * 질문 검색 방식.
+ * INDEX: 메모리 n-gram 역색인 사용 (기본값).
+ * JPQL: 기존 LIKE '%kw%' 조인 쿼리 사용 (색인 장애 시 되돌리기 위한 fallback).
+ */
+public enum SearchMode {
+    INDEX,
+    JPQL;
+
+    static SearchMode from(String value) {
+        return SearchMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,11 @@
+package com.mysite.sbb.search;
+
+import java.util.List;
+
+/**
+ * 색인 검색 결과 한 페이지.
+ * @param ids   해당 페이지에 속한 질문 ID (랭킹 순서 유지).
+ * @param total 검색 조건에 일치하는 전체 질문 수.
+ */
+public record SearchResult(List<Integer> ids, long total) {
+}
@@ -0,0 +1,293 @@
+package com.mysite.sbb.search;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.question.Question;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 질문 검색 엔진.
+ * 질문 제목/내용/작성자, 답변 내용/작성자를 n-gram으로 색인하여 노드(JVM) 메모리에 보관하고,
+ * 검색 시 랭킹된 질문 ID 페이지를 반환한다. 엔티티 조회(hydration)는 호출 측에서 한 번의 IN 쿼리로 처리한다.
+ * 긴 파트에서만 일치한 후보는 위치 서명으로 인접 여부를 확정할 수 없으므로, 그 파트의 텍스트를 읽어 검색 단어를 포함하는지 확인한다.
+ * sbb.search.mode=jpql 로 설정하면 색인을 사용하지 않고 기존 LIKE 검색(JPQL)으로 동작한다.
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    // 필드별 가중치. 제목에서 일치하는 질문이 본문/답변에서만 일치하는 질문보다 위에 오도록 한다.
+    private static final int SUBJECT_WEIGHT = 4;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // 재구성은 새 색인을 만든 뒤 한 번에 교체한다. 그동안 검색은 이전 색인으로 응답한다.
+    private volatile InvertedIndex index = new InvertedIndex();
+    // 색인 쓰기와 재구성 교체를 순서대로 처리한다.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // 재구성 중에 들어온 색인 쓰기(추가/수정/삭제). 새 색인에 순서대로 다시 적용한 뒤 교체한다. (재구성 중이 아니면 null)
+    private List<Consumer<InvertedIndex>> pendingWrites;
+    private final SearchMode mode;
+    // 애플리케이션 기동 후 전체 색인이 끝나기 전까지는 JPQL 검색으로 응답한다.
+    private volatile boolean ready;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SearchService(@Value("${sbb.search.mode:index}") String mode) {
+        this.mode = SearchMode.from(mode);
+    }
+
+    /**
+     * 색인 검색을 사용할 수 있는 상태인지 여부.
+     * @return 색인 모드이고 초기 색인이 완료되었으면 true.
+     */
+    public boolean isEnabled() {
+        return mode == SearchMode.INDEX && ready;
+    }
+
+    /**
+     * 검색어에 일치하는 질문 ID를 랭킹 순으로 페이징하여 반환한다.
+     * @param kw       검색어.
+     * @param pageable 페이지 번호/크기 (정렬은 랭킹을 따르므로 무시).
+     * @return 페이지에 해당하는 질문 ID 목록과 전체 일치 건수.
+     */
+    public SearchResult search(String kw, Pageable pageable) {
+        List<String> words = NGramTokenizer.queryWords(kw);
+        if (words.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        List<Integer> ids = verify(index.search(words));
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new SearchResult(List.copyOf(ids.subList(from, to)), ids.size());
+    }
+
+    /**
+     * 질문 본문(제목/내용/작성자)을 색인에 추가하거나 갱신한다. 답변 파트는 그대로 유지된다.
+     * 작성자는 엔티티의 연관(대개 프록시) 대신 호출 측이 알고 있는 사용자명을 받아, 색인 중 사용자 조회 쿼리가 나가지 않게 한다.
+     * @param question   저장이 끝난(ID가 부여된) 질문 엔티티.
+     * @param authorName 작성자 사용자명 (없으면 null).
+     */
+    public void indexQuestion(Question question, String authorName) {
+        int questionId = question.getId();
+        NGramTokenizer.DocumentTerms terms = questionTerms(question.getSubject(), question.getContent(), authorName);
+        write(target -> target.putQuestion(questionId, terms));
+    }
+
+    /**
+     * 답변(내용/작성자)을 소속 질문의 색인에 추가하거나 갱신한다.
+     * @param answer     저장이 끝난(ID가 부여된) 답변 엔티티.
+     * @param authorName 작성자 사용자명 (없으면 null).
+     */
+    public void indexAnswer(Answer answer, String authorName) {
+        int questionId = answer.getQuestion().getId();
+        int answerId = answer.getId();
+        NGramTokenizer.DocumentTerms terms = answerTerms(answer.getContent(), authorName);
+        write(target -> target.putAnswer(questionId, answerId, terms));
+    }
+
+    /**
+     * 질문과 그 질문에 달린 모든 답변을 색인에서 제거한다.
+     * @param questionId 삭제된 질문 ID.
+     */
+    public void removeQuestion(int questionId) {
+        write(target -> target.removeQuestion(questionId));
+    }
+
+    /**
+     * 데이터베이스 전체를 다시 읽어 새 색인을 만들고 교체한다.
+     * 엔티티 대신 필요한 컬럼만 ID 기준 keyset 방식으로 나누어 읽어, 연관 엔티티 로딩 없이 일정한 메모리로 동작한다.
+     * 읽는 동안 들어온 색인 쓰기는 기록해 두었다가 새 색인에 순서대로 다시 적용하므로, 이미 읽은 질문이 그 사이
+     * 삭제되어도 되살아나지 않는다. 동시에 두 번 호출되면 앞의 재구성이 끝난 뒤 다시 읽는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (mode != SearchMode.INDEX) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            InvertedIndex building = new InvertedIndex();
+            writeLock.lock();
+            try {
+                pendingWrites = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+            try {
+                load(building);
+                writeLock.lock();
+                try {
+                    pendingWrites.forEach(write -> write.accept(building));
+                    index = building;
+                } finally {
+                    writeLock.unlock();
+                }
+            } finally {
+                writeLock.lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            ready = true;
+            log.info("search index rebuilt: {} questions in {} ms", building.size(), System.currentTimeMillis() - started);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void load(InvertedIndex target) {
+        int lastId = 0;
+        while (true) {
+            List<Object[]> rows = entityManager.createQuery(
+                            "select q.id, q.subject, q.content, u.username "
+                                    + "from Question q left join q.author u "
+                                    + "where q.id > :lastId order by q.id", Object[].class)
+                    .setParameter("lastId", lastId)
+                    .setMaxResults(REBUILD_BATCH_SIZE)
+                    .getResultList();
+            for (Object[] row : rows) {
+                lastId = (Integer) row[0];
+                target.putQuestion(lastId, questionTerms((String) row[1], (String) row[2], (String) row[3]));
+            }
+            if (rows.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        lastId = 0;
+        while (true) {
+            List<Object[]> rows = entityManager.createQuery(
+                            "select a.id, a.question.id, a.content, u.username "
+                                    + "from Answer a left join a.author u "
+                                    + "where a.id > :lastId order by a.id", Object[].class)
+                    .setParameter("lastId", lastId)
+                    .setMaxResults(REBUILD_BATCH_SIZE)
+                    .getResultList();
+            for (Object[] row : rows) {
+                lastId = (Integer) row[0];
+                target.putAnswer((Integer) row[1], lastId, answerTerms((String) row[2], (String) row[3]));
+            }
+            if (rows.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+        }
+    }
+
+    // 현재 색인에 쓰고, 재구성 중이면 새 색인에 다시 적용하도록 기록한다.
+    private void write(Consumer<InvertedIndex> write) {
+        writeLock.lock();
+        try {
+            write.accept(index);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 확정되지 않은 후보의 파트 텍스트를 한 번에 읽어 검색 단어를 실제로 포함하는지 확인하고, 통과한 질문 ID만 남긴다.
+    private List<Integer> verify(List<InvertedIndex.Match> matches) {
+        Set<Integer> questionIds = new HashSet<>();
+        Set<Integer> answerIds = new HashSet<>();
+        for (InvertedIndex.Match match : matches) {
+            for (List<Long> keys : match.unverified().values()) {
+                for (long key : keys) {
+                    int partId = InvertedIndex.partId(key);
+                    if (partId == InvertedIndex.QUESTION_PART) {
+                        questionIds.add(InvertedIndex.questionId(key));
+                    } else {
+                        answerIds.add(partId);
+                    }
+                }
+            }
+        }
+        Map<Long, String[]> texts = new HashMap<>();
+        if (!questionIds.isEmpty()) {
+            for (Object[] row : select("select q.id, q.subject, q.content, u.username "
+                    + "from Question q left join q.author u where q.id in :ids", questionIds)) {
+                texts.put(InvertedIndex.partKey((Integer) row[0], InvertedIndex.QUESTION_PART),
+                        new String[]{(String) row[1], (String) row[2], (String) row[3]});
+            }
+        }
+        if (!answerIds.isEmpty()) {
+            for (Object[] row : select("select a.question.id, a.id, a.content, u.username "
+                    + "from Answer a left join a.author u where a.id in :ids", answerIds)) {
+                texts.put(InvertedIndex.partKey((Integer) row[0], (Integer) row[1]),
+                        new String[]{(String) row[2], (String) row[3]});
+            }
+        }
+        List<Integer> ids = new ArrayList<>(matches.size());
+        for (InvertedIndex.Match match : matches) {
+            if (match.unverified().entrySet().stream().allMatch(entry -> entry.getValue().stream()
+                    .anyMatch(key -> contains(texts.get(key), entry.getKey())))) {
+                ids.add(match.questionId());
+            }
+        }
+        return ids;
+    }
+
+    private List<Object[]> select(String jpql, Set<Integer> ids) {
+        List<Integer> all = new ArrayList<>(ids);
+        List<Object[]> rows = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += REBUILD_BATCH_SIZE) {
+            rows.addAll(entityManager.createQuery(jpql, Object[].class)
+                    .setParameter("ids", all.subList(from, Math.min(from + REBUILD_BATCH_SIZE, all.size())))
+                    .getResultList());
+        }
+        return rows;
+    }
+
+    // 삭제되어 읽지 못한 파트(texts == null)는 일치하지 않는 것으로 본다.
+    private static boolean contains(String[] texts, String word) {
+        if (texts == null) {
+            return false;
+        }
+        for (String text : texts) {
+            if (NGramTokenizer.contains(text, word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static NGramTokenizer.DocumentTerms questionTerms(String subject, String content, String author) {
+        NGramTokenizer.DocumentTerms terms = new NGramTokenizer.DocumentTerms();
+        NGramTokenizer.addDocumentTerms(subject, SUBJECT_WEIGHT, terms);
+        NGramTokenizer.addDocumentTerms(content, CONTENT_WEIGHT, terms);
+        NGramTokenizer.addDocumentTerms(author, AUTHOR_WEIGHT, terms);
+        return terms;
+    }
+
+    private static NGramTokenizer.DocumentTerms answerTerms(String content, String author) {
+        NGramTokenizer.DocumentTerms terms = new NGramTokenizer.DocumentTerms();
+        NGramTokenizer.addDocumentTerms(content, CONTENT_WEIGHT, terms);
+        NGramTokenizer.addDocumentTerms(author, CONTENT_WEIGHT, terms);
+        return terms;
+    }
+}
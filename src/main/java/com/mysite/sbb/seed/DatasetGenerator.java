@@ -0,0 +1,287 @@
+package com.mysite.sbb.seed;
+
+import com.mysite.sbb.CommonUtil;
+import com.mysite.sbb.IdSequenceAligner;
+import com.mysite.sbb.question.QuestionListCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 운영 규모의 데이터를 재현하기 위한 대량 데이터 생성기 (seed 프로필에서만 동작, TestInitData 대신 사용).
+ * 사용자 N명, 질문 M건과 함께 질문당 답변 수와 추천 수를 긴 꼬리(Pareto) 분포로 만들고, 본문은 한국어/영어 마크다운을 섞는다.
+ * 질문을 chunk-size 건씩 나누어 여러 스레드에서 JDBC batch insert로 저장한다.
+ * ID를 직접 지정하고 chunk마다 seed에서 파생한 난수를 사용하므로, 스레드 수나 실행 순서와 관계없이 같은 seed면 같은 데이터가 만들어진다.
+ * 기동 시 다른 ApplicationRunner(카운터 보정, 마크다운 백필)보다 먼저 실행되며, 검색 색인은 이후 ApplicationReadyEvent에서 만들어진다.
+ */
+@Slf4j
+@Profile("seed")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+@RequiredArgsConstructor
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    // 난수 seed를 chunk마다 흩어 주기 위한 상수 (SplittableRandom의 golden gamma)
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CommonUtil commonUtil;
+    private final QuestionListCache questionListCache;
+    private final IdSequenceAligner idSequenceAligner;
+
+    @Value("${sbb.seed.users:10000}")
+    private int users;
+
+    @Value("${sbb.seed.questions:100000}")
+    private int questions;
+
+    @Value("${sbb.seed.seed:42}")
+    private long seed;
+
+    @Value("${sbb.seed.threads:4}")
+    private int threads;
+
+    @Value("${sbb.seed.chunk-size:5000}")
+    private int chunkSize;
+
+    // 답변 수/추천 수 분포의 꼬리 두께 (작을수록 꼬리가 길다)와 상한
+    @Value("${sbb.seed.answers.alpha:1.3}")
+    private double answersAlpha;
+
+    @Value("${sbb.seed.answers.max:300}")
+    private int maxAnswers;
+
+    @Value("${sbb.seed.votes.alpha:1.1}")
+    private double votesAlpha;
+
+    @Value("${sbb.seed.votes.max:500}")
+    private int maxVotes;
+
+    // 한국어 글의 비율
+    @Value("${sbb.seed.korean-ratio:0.7}")
+    private double koreanRatio;
+
+    // 질문 작성일을 until 이전 며칠에 걸쳐 분포시킬지. 현재 시각을 쓰면 실행할 때마다 데이터가 달라지므로 고정 시각을 기준으로 한다.
+    @Value("${sbb.seed.days:365}")
+    private int days;
+
+    @Value("${sbb.seed.until:2025-01-01T00:00:00}")
+    private String until;
+
+    // 이미 데이터가 있을 때 지우고 다시 만들지 여부 (false면 생성하지 않음)
+    @Value("${sbb.seed.reset:false}")
+    private boolean reset;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from question", Integer.class);
+        if (existing != null && existing > 0) {
+            if (!reset) {
+                log.info("dataset generator skipped: {} questions already exist (set sbb.seed.reset=true to regenerate)", existing);
+                return;
+            }
+            clear();
+        }
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.parse(until);
+        LocalDateTime from = now.minusDays(days);
+        String password = passwordEncoder.encode("1234");
+
+        // 답변 ID를 질문 순서대로 연속 배정하기 위해 질문별 답변 수를 먼저 정한다.
+        int[] answerCounts = new int[questions];
+        SplittableRandom countRandom = new SplittableRandom(seed);
+        for (int i = 0; i < questions; i++) {
+            answerCounts[i] = pareto(countRandom, answersAlpha, maxAnswers);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int first = 1; first <= users; first += BATCH_SIZE * 10) {
+                int start = first;
+                tasks.add(executor.submit(() -> insertUsers(start, Math.min(users, start + BATCH_SIZE * 10 - 1), password)));
+            }
+            await(tasks);
+
+            long answerId = 1;
+            for (int chunk = 0, first = 0; first < questions; chunk++, first += chunkSize) {
+                int start = first;
+                int end = Math.min(questions, first + chunkSize);
+                long firstAnswerId = answerId;
+                for (int i = start; i < end; i++) {
+                    answerId += answerCounts[i];
+                }
+                SplittableRandom random = new SplittableRandom(seed + (chunk + 1) * GAMMA);
+                tasks.add(executor.submit(() ->
+                        transactionTemplate.executeWithoutResult(status ->
+                                insertPosts(random, start, end, firstAnswerId, answerCounts, from, now))));
+            }
+            await(tasks);
+        } finally {
+            executor.shutdown();
+        }
+
+        // ID를 직접 넣었으므로 ID 시퀀스를 최대 ID 뒤로 옮긴다.
+        idSequenceAligner.alignAll();
+        // 생성 중에 들어온 요청이 캐시했을 수 있는 목록 페이지를 버린다.
+        questionListCache.onQuestionAddedOrRemoved();
+
+        log.info("dataset generated in {} ms: {} users, {} questions, {} answers, {} question votes, {} answer votes (seed {})",
+                System.currentTimeMillis() - started, users, questions, count("answer"),
+                count("question_voter"), count("answer_voter"), seed);
+    }
+
+    private void clear() {
+        jdbcTemplate.update("delete from answer_voter");
+        jdbcTemplate.update("delete from question_voter");
+        jdbcTemplate.update("delete from answer");
+        jdbcTemplate.update("delete from question");
+        jdbcTemplate.update("delete from site_user");
+    }
+
+    private void insertUsers(int first, int last, String password) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int id = first; id <= last; id++) {
+            batch.add(new Object[]{id, "user" + id, "user" + id + "@sbb.com", password});
+            if (batch.size() == BATCH_SIZE) {
+                flush("insert into site_user (id, username, email, password) values (?, ?, ?, ?)", batch);
+            }
+        }
+        flush("insert into site_user (id, username, email, password) values (?, ?, ?, ?)", batch);
+    }
+
+    /**
+     * 질문 [start, end) 구간과 그 답변, 추천을 저장한다.
+     * @param firstAnswerId 이 구간의 첫 답변에 배정할 ID.
+     */
+    private void insertPosts(SplittableRandom random, int start, int end, long firstAnswerId, int[] answerCounts,
+                             LocalDateTime from, LocalDateTime now) {
+        List<Object[]> questionRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> answerRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> questionVotes = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> answerVotes = new ArrayList<>(BATCH_SIZE);
+        long spanSeconds = Duration.between(from, now).toSeconds();
+        long answerId = firstAnswerId;
+        for (int i = start; i < end; i++) {
+            int questionId = i + 1;
+            boolean korean = random.nextDouble() < koreanRatio;
+            // 질문 작성일은 ID 순서대로 증가한다. (최신 질문일수록 ID가 크다)
+            LocalDateTime created = from.plusSeconds(spanSeconds * i / Math.max(1, questions));
+            String content = SampleText.markdown(random, korean, 1 + pareto(random, 1.5, 30));
+            int votes = pareto(random, votesAlpha, Math.min(maxVotes, users));
+            for (int voterId : distinctUsers(random, votes)) {
+                questionVotes.add(new Object[]{questionId, voterId});
+            }
+            questionRows.add(new Object[]{questionId, SampleText.subject(random, korean), content, commonUtil.render(content),
+                    Timestamp.valueOf(created), author(random), answerCounts[i], votes});
+            if (questionRows.size() == BATCH_SIZE) {
+                flushQuestions(questionRows);
+            }
+
+            long age = Math.max(1, Duration.between(created, now).toSeconds());
+            for (int j = 0; j < answerCounts[i]; j++, answerId++) {
+                String answer = SampleText.markdown(random, korean, 1 + pareto(random, 2.0, 10));
+                int answerVoteCount = pareto(random, votesAlpha + 0.5, Math.min(maxVotes, users));
+                for (int voterId : distinctUsers(random, answerVoteCount)) {
+                    answerVotes.add(new Object[]{answerId, voterId});
+                }
+                // 답변은 대부분 질문 직후에 달린다. (작성일 이후 경과 시간의 앞쪽에 몰리도록)
+                long after = (long) (age * Math.pow(random.nextDouble(), 4));
+                answerRows.add(new Object[]{answerId, questionId, answer, commonUtil.render(answer),
+                        Timestamp.valueOf(created.plusSeconds(after)), author(random), answerVoteCount});
+                if (answerRows.size() == BATCH_SIZE) {
+                    flushQuestions(questionRows);
+                    flushAnswers(answerRows);
+                }
+            }
+        }
+        // 외래키 순서: 질문 -> 답변 -> 추천
+        flushQuestions(questionRows);
+        flushAnswers(answerRows);
+        flush("insert into question_voter (question_id, voter_id) values (?, ?)", questionVotes);
+        flush("insert into answer_voter (answer_id, voter_id) values (?, ?)", answerVotes);
+    }
+
+    private void flushQuestions(List<Object[]> rows) {
+        flush("insert into question (id, subject, content, content_html, create_date, author_id, answer_count, vote_count) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void flushAnswers(List<Object[]> rows) {
+        flush("insert into answer (id, question_id, content, content_html, create_date, author_id, vote_count) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    // 작성자: 소수의 사용자가 많은 글을 쓰도록 앞쪽 ID에 몰리게 고른다.
+    private int author(SplittableRandom random) {
+        return 1 + Math.min(users - 1, (int) (users * Math.pow(random.nextDouble(), 3)));
+    }
+
+    // 서로 다른 사용자 count명을 고른다. (추천인은 활동적인 사용자에 몰리도록 author와 같은 방식)
+    private Set<Integer> distinctUsers(SplittableRandom random, int count) {
+        Set<Integer> result = new HashSet<>(count * 2);
+        while (result.size() < count) {
+            result.add(result.size() * 2 < users ? author(random) : 1 + random.nextInt(users));
+        }
+        return result;
+    }
+
+    /**
+     * Pareto 분포에서 0 이상의 정수를 뽑는다. 대부분은 0~2이고 드물게 큰 값이 나온다.
+     * @param alpha 꼬리 두께 (작을수록 큰 값이 자주 나온다).
+     * @param max   상한.
+     */
+    private static int pareto(SplittableRandom random, double alpha, int max) {
+        double value = Math.pow(1.0 - random.nextDouble(), -1.0 / alpha) - 1.0;
+        return (int) Math.min(max, Math.floor(value));
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static void await(List<Future<?>> tasks) throws InterruptedException {
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("dataset generation failed", e.getCause());
+        } finally {
+            tasks.clear();
+        }
+    }
+}
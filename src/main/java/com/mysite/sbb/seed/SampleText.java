@@ -0,0 +1,108 @@
+package com.mysite.sbb.seed;
+
+import java.util.SplittableRandom;
+
+/**
+ * 생성 데이터용 한국어/영어 제목과 마크다운 본문.
+ * 실제 게시판처럼 문장, 목록, 코드 블록, 인용, 링크가 섞이고 길이가 제각각인 글을 만든다.
+ */
+final class SampleText {
+
+    private static final String[] KO_TOPICS = {
+            "스프링 부트", "JPA", "트랜잭션", "페이징", "Thymeleaf", "스프링 시큐리티", "H2 데이터베이스",
+            "엔티티 연관관계", "지연 로딩", "캐시", "검색", "Gradle 빌드", "테스트 코드", "REST API", "로그인"
+    };
+    private static final String[] KO_QUESTIONS = {
+            "%s 설정은 어떻게 하나요?", "%s에서 오류가 발생합니다", "%s 사용 시 성능 문제 질문", "%s 동작 원리가 궁금합니다",
+            "%s 관련해서 조언 부탁드립니다", "%s 적용 후 화면이 안 나와요", "%s 예제 코드 공유합니다"
+    };
+    private static final String[] KO_SENTENCES = {
+            "프로젝트를 새로 만들고 의존성을 추가했습니다.",
+            "로컬에서는 잘 되는데 서버에 올리면 동작하지 않습니다.",
+            "공식 문서를 읽어 봤지만 이해가 잘 되지 않았습니다.",
+            "엔티티를 저장할 때 아래와 같은 예외가 발생합니다.",
+            "쿼리 로그를 보니 같은 쿼리가 여러 번 실행되고 있었습니다.",
+            "설정 파일의 값을 바꾸니 문제가 해결되었습니다.",
+            "혹시 더 좋은 방법이 있다면 알려 주세요.",
+            "지연 로딩 때문에 화면을 그릴 때 추가 조회가 생기는 것 같습니다.",
+            "페이지 번호가 커질수록 조회 속도가 느려집니다.",
+            "트랜잭션 범위를 서비스 메서드로 옮겼습니다.",
+            "테스트 코드에서는 정상적으로 통과합니다.",
+            "답변 감사합니다. 말씀하신 대로 해 보겠습니다."
+    };
+    private static final String[] EN_TOPICS = {
+            "Spring Boot", "JPA", "transactions", "pagination", "Thymeleaf", "Spring Security", "H2",
+            "entity mapping", "lazy loading", "caching", "search", "Gradle", "unit tests", "REST APIs", "login"
+    };
+    private static final String[] EN_QUESTIONS = {
+            "How do I configure %s?", "Error when using %s", "Performance issue with %s", "How does %s work internally?",
+            "Best practices for %s", "Page is blank after enabling %s", "Sharing an example of %s"
+    };
+    private static final String[] EN_SENTENCES = {
+            "I created a new project and added the dependencies.",
+            "It works locally but fails after deploying to the server.",
+            "I read the reference documentation but I am still confused.",
+            "The following exception is thrown when saving the entity.",
+            "The SQL log shows the same query executed many times.",
+            "Changing this property in the configuration fixed the problem.",
+            "Please let me know if there is a better approach.",
+            "Lazy loading seems to trigger extra queries while rendering the page.",
+            "Queries get slower as the page number grows.",
+            "I moved the transaction boundary to the service method.",
+            "The test passes without any problem.",
+            "Thanks for the answer, I will try it."
+    };
+    private static final String[] CODE = {
+            "@Transactional\npublic void save(Question question) {\n    questionRepository.save(question);\n}",
+            "spring:\n  jpa:\n    hibernate:\n      ddl-auto: update",
+            "select q.id, q.subject from question q order by q.create_date desc limit 10",
+            "Page<Question> page = questionRepository.findAll(PageRequest.of(0, 10));"
+    };
+
+    private SampleText() {
+    }
+
+    static String subject(SplittableRandom random, boolean korean) {
+        String[] topics = korean ? KO_TOPICS : EN_TOPICS;
+        String[] templates = korean ? KO_QUESTIONS : EN_QUESTIONS;
+        return String.format(pick(random, templates), pick(random, topics));
+    }
+
+    /**
+     * 마크다운 본문을 만든다.
+     * @param paragraphs 문단 수 (글 길이).
+     */
+    static String markdown(SplittableRandom random, boolean korean, int paragraphs) {
+        String[] sentences = korean ? KO_SENTENCES : EN_SENTENCES;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            int kind = random.nextInt(10);
+            if (kind == 0) {
+                sb.append("```\n").append(pick(random, CODE)).append("\n```\n\n");
+            } else if (kind == 1) {
+                for (int j = 0, n = 2 + random.nextInt(3); j < n; j++) {
+                    sb.append("- ").append(pick(random, sentences)).append('\n');
+                }
+                sb.append('\n');
+            } else if (kind == 2) {
+                sb.append("> ").append(pick(random, sentences)).append("\n\n");
+            } else {
+                for (int j = 0, n = 1 + random.nextInt(4); j < n; j++) {
+                    if (j > 0) {
+                        sb.append(' ');
+                    }
+                    sb.append(pick(random, sentences));
+                }
+                if (kind == 3) {
+                    sb.append(" [").append(korean ? "참고" : "reference").append("](https://spring.io/guides)");
+                }
+                sb.append("\n\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
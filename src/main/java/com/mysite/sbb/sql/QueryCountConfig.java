@@ -0,0 +1,41 @@
+package com.mysite.sbb.sql;
+
+import com.mysite.sbb.timing.RequestTiming;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 요청별 SQL 문 수 측정 설정.
+ * Hibernate에 SqlStatementCounter를 등록하고, TaskExecutor 작업(질문 상세/목록 캐시 로딩 등)에
+ * 작업을 넘긴 요청의 QueryLog와 RequestTiming(Server-Timing)을 전달하여 요청 스레드 밖에서 실행된 SQL도 그 요청에 포함되게 한다.
+ * (TaskExecutor에는 TaskDecorator 빈이 하나만 적용되므로 두 가지를 함께 전달한다)
+ */
+@Configuration
+public class QueryCountConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    TaskDecorator queryLogTaskDecorator() {
+        return task -> {
+            QueryLog log = QueryLog.current();
+            RequestTiming timing = RequestTiming.current();
+            return () -> {
+                QueryLog previous = QueryLog.bind(log);
+                RequestTiming previousTiming = RequestTiming.bind(timing);
+                try {
+                    task.run();
+                } finally {
+                    QueryLog.bind(previous);
+                    RequestTiming.bind(previousTiming);
+                }
+            };
+        };
+    }
+}
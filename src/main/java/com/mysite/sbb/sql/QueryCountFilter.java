@@ -0,0 +1,56 @@
+package com.mysite.sbb.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청마다 QueryLog를 만들어 요청 스레드에 연결하고, 요청이 끝나면 엔드포인트별 통계(QueryStats)에 더한다.
+ * 다른 필터(보안, 화면 캐시)에서 실행되는 SQL도 포함하도록 가장 먼저 실행된다.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryStats queryStats;
+    private final boolean enabled;
+
+    public QueryCountFilter(QueryStats queryStats, @Value("${sbb.sql.counter.enabled:true}") boolean enabled) {
+        this.queryStats = queryStats;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryLog queryLog = new QueryLog(request.getMethod() + " " + request.getRequestURI());
+        QueryLog previous = QueryLog.bind(queryLog);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryLog.bind(previous);
+            request.setAttribute(QueryLog.ATTRIBUTE, queryLog);
+            queryStats.record(endpoint(request), queryLog);
+        }
+    }
+
+    // 컨트롤러가 처리한 요청은 URL 패턴(/question/detail/{id})으로 묶고, 그 외에는 URI를 그대로 쓴다.
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
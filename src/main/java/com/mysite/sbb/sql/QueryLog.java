@@ -0,0 +1,120 @@
+package com.mysite.sbb.sql;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 한 요청 동안 실행된 SQL 문 기록.
+ * 현재 스레드에 연결(bind)된 기록에 SqlStatementCounter가 Hibernate가 실행하는 SQL을 더한다.
+ * 파라미터만 다른 같은 SQL이 여러 번 실행되면 N+1 의심으로 본다. (리터럴과 IN 목록 길이도 무시하고 비교)
+ * 캐시 로딩처럼 요청 스레드를 벗어나는 작업도 같은 기록에 더해지도록 TaskDecorator로 전달되므로 스레드에 안전하다.
+ */
+public final class QueryLog {
+
+    // 요청 속성 이름. 요청이 끝난 뒤 테스트(MockMvc)나 다른 필터에서 기록을 꺼낼 때 사용.
+    public static final String ATTRIBUTE = QueryLog.class.getName();
+
+    private static final ThreadLocal<QueryLog> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 같은 형태로 여러 번 실행된 SQL.
+     * @param sql   정규화된 SQL.
+     * @param count 실행 횟수.
+     */
+    public record Suspect(String sql, int count) {
+    }
+
+    // 기록을 만든 요청 (예: "GET /question/detail/5"). 느린 쿼리 로그에서 호출한 요청을 표시할 때 사용.
+    private final String request;
+    private final AtomicInteger count = new AtomicInteger();
+    // 정규화된 SQL -> 실행 횟수
+    private final Map<String, AtomicInteger> statements = new ConcurrentHashMap<>();
+
+    public QueryLog() {
+        this(null);
+    }
+
+    public QueryLog(String request) {
+        this.request = request;
+    }
+
+    /**
+     * 현재 스레드에 연결된 기록 (없으면 null).
+     */
+    public static QueryLog current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드에 기록을 연결한다.
+     * @param log 연결할 기록 (null이면 연결 해제).
+     * @return 이전에 연결되어 있던 기록. 작업이 끝나면 다시 bind 하여 되돌린다.
+     */
+    public static QueryLog bind(QueryLog log) {
+        QueryLog previous = CURRENT.get();
+        if (log == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(log);
+        }
+        return previous;
+    }
+
+    void record(String sql) {
+        count.incrementAndGet();
+        statements.computeIfAbsent(normalize(sql), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public String request() {
+        return request;
+    }
+
+    // 실행된 SQL 문 수
+    public int count() {
+        return count.get();
+    }
+
+    // 정규화된 SQL별 실행 횟수 (많은 순)
+    public Map<String, Integer> statements() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        statements.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, AtomicInteger> e) -> e.getValue().get()).reversed())
+                .forEach(e -> result.put(e.getKey(), e.getValue().get()));
+        return result;
+    }
+
+    /**
+     * N+1 의심 SQL 목록.
+     * @param threshold 같은 형태의 SQL이 이 횟수 이상 실행되면 의심으로 본다.
+     */
+    public List<Suspect> suspects(int threshold) {
+        List<Suspect> result = new ArrayList<>();
+        statements().forEach((sql, n) -> {
+            if (n >= threshold) {
+                result.add(new Suspect(sql, n));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 파라미터만 다른 SQL이 같은 문자열이 되도록 리터럴을 ?로 바꾸고 IN 목록과 공백을 줄인다.
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
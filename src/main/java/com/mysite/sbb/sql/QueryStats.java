@@ -0,0 +1,90 @@
+package com.mysite.sbb.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 엔드포인트(HTTP 메서드 + URL 패턴)별 요청당 SQL 문 수 통계와 N+1 의심 기록.
+ * N+1 의심이 있는 요청은 경고 로그로 남기고, 엔드포인트별 마지막 의심 SQL을 보관한다.
+ */
+@Slf4j
+@Component
+public class QueryStats {
+
+    /**
+     * 엔드포인트 하나의 통계 스냅샷.
+     * @param suspectRequests N+1 의심 SQL이 있었던 요청 수.
+     * @param lastSuspects    마지막으로 발견된 N+1 의심 SQL.
+     */
+    public record EndpointStats(long requests, long statements, int maxStatements, long suspectRequests,
+                                List<QueryLog.Suspect> lastSuspects) {
+    }
+
+    private static final class Endpoint {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final AtomicInteger maxStatements = new AtomicInteger();
+        final LongAdder suspectRequests = new LongAdder();
+        final AtomicReference<List<QueryLog.Suspect>> lastSuspects = new AtomicReference<>(List.of());
+    }
+
+    private final int nPlusOneThreshold;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, QueryLog>> listeners = new CopyOnWriteArrayList<>();
+
+    public QueryStats(@Value("${sbb.sql.counter.n-plus-one-threshold:3}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public int getNPlusOneThreshold() {
+        return nPlusOneThreshold;
+    }
+
+    /**
+     * 끝난 요청 하나의 SQL 기록을 더한다.
+     * @param endpoint 예: "GET /question/detail/{id}".
+     */
+    public void record(String endpoint, QueryLog queryLog) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.requests.increment();
+        stats.statements.add(queryLog.count());
+        stats.maxStatements.accumulateAndGet(queryLog.count(), Math::max);
+        List<QueryLog.Suspect> suspects = queryLog.suspects(nPlusOneThreshold);
+        if (!suspects.isEmpty()) {
+            stats.suspectRequests.increment();
+            stats.lastSuspects.set(suspects);
+            log.warn("N+1 suspect on {} ({} statements): {}", endpoint, queryLog.count(), suspects);
+        }
+        for (BiConsumer<String, QueryLog> listener : listeners) {
+            listener.accept(endpoint, queryLog);
+        }
+    }
+
+    // 요청이 끝날 때마다 (엔드포인트, 기록)을 받는다. 테스트의 쿼리 예산 검사(QueryBudgetExtension)에서 사용.
+    public void addListener(BiConsumer<String, QueryLog> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BiConsumer<String, QueryLog> listener) {
+        listeners.remove(listener);
+    }
+
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> result = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> result.put(endpoint, new EndpointStats(
+                stats.requests.sum(), stats.statements.sum(), stats.maxStatements.get(),
+                stats.suspectRequests.sum(), stats.lastSuspects.get())));
+        return result;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mysite.sbb.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+/**
+ * 엔드포인트별 요청당 SQL 문 수와 N+1 의심 기록, 느린 쿼리 로그를 JSON으로 보여주는 관리자용 엔드포인트.
+ */
+@RequestMapping("/admin/sql")
+@RequiredArgsConstructor
+@RestController
+public class QueryStatsController {
+
+    private final QueryStats queryStats;
+    // sbb.sql.slow.enabled=false면 빈이 없다.
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public Map<String, QueryStats.EndpointStats> stats() {
+        return queryStats.snapshot();
+    }
+
+    // 최근 느린 SQL과 표본 SQL (바인딩 값, 호출한 요청, 실행 계획 포함)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/slow")
+    public SlowQueryLog.Snapshot slow() {
+        SlowQueryLog log = slowQueryLog.getIfAvailable();
+        if (log == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "slow query log is disabled");
+        }
+        return log.snapshot();
+    }
+}
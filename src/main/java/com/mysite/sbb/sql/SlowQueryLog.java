@@ -0,0 +1,207 @@
+package com.mysite.sbb.sql;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * 느린 쿼리 로그. 모든 SQL과 바인딩 값을 TRACE로 남기는 대신, threshold 이상 걸린 SQL과
+ * sample-rate 비율로 뽑은 일반 SQL만 바인딩 값, 호출한 요청과 함께 기록한다. 느린 SQL은 H2 EXPLAIN 실행 계획도 구한다.
+ * 실행 스레드는 값만 복사해 대기열에 넣고, 로그 출력과 EXPLAIN은 별도 스레드에서 처리한다.
+ * 대기열이 가득 차면 버리고 수를 센다. 최근 buffer-size건은 링 버퍼에 남아 관리자 엔드포인트(/admin/sql/slow)에서 볼 수 있다.
+ * sbb.sql.slow.enabled=false면 빈을 만들지 않아, 다른 리스너가 없으면 DataSource가 프록시 없이 그대로 쓰인다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sbb.sql.slow.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLog implements StatementExecutionListener {
+
+    private static final int MAX_VALUE_LENGTH = 200;
+    private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(select|with|insert|update|delete|merge)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 기록된 SQL 하나.
+     * @param slow    threshold 이상이면 true, 표본으로 뽑힌 일반 SQL이면 false.
+     * @param request 호출한 요청 (예: "GET /question/detail/5"). 요청 밖에서 실행됐으면 null.
+     * @param plan    EXPLAIN 결과. 느린 SQL만 구한다.
+     */
+    public record SlowQuery(LocalDateTime executedAt, double elapsedMillis, boolean slow, String request,
+                            String thread, String sql, List<String> parameters, String plan) {
+    }
+
+    /**
+     * 관리자 엔드포인트 응답.
+     * @param recorded 지금까지 기록된 수 (링 버퍼에서 밀려난 것 포함).
+     * @param dropped  대기열이 가득 차 버린 수.
+     * @param queries  최근 기록 (최신 순).
+     */
+    public record Snapshot(Duration threshold, double sampleRate, long recorded, long dropped, List<SlowQuery> queries) {
+    }
+
+    // 실행 스레드에서 복사한 값. 바인딩 값은 EXPLAIN에 다시 쓰도록 원래 타입 그대로 둔다.
+    private record Pending(LocalDateTime executedAt, long elapsedNanos, boolean slow, String request, String thread,
+                           String sql, Object[] parameters) {
+    }
+
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final Duration threshold;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean explain;
+
+    private final BlockingQueue<Pending> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final SlowQuery[] ring;
+    private final ReentrantLock ringLock = new ReentrantLock();
+    private int next;
+    private long recorded;
+    private volatile Thread writer;
+
+    // DataSource를 감쌀 때 만들어지므로 JdbcTemplate(DataSource)은 EXPLAIN할 때 찾는다.
+    public SlowQueryLog(ObjectProvider<JdbcTemplate> jdbcTemplate,
+                        @Value("${sbb.sql.slow.threshold:100ms}") Duration threshold,
+                        @Value("${sbb.sql.slow.sample-rate:0}") double sampleRate,
+                        @Value("${sbb.sql.slow.explain:true}") boolean explain,
+                        @Value("${sbb.sql.slow.buffer-size:200}") int bufferSize,
+                        @Value("${sbb.sql.slow.queue-size:1000}") int queueSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threshold = threshold;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.explain = explain;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.ring = new SlowQuery[Math.max(1, bufferSize)];
+    }
+
+    @PostConstruct
+    void start() {
+        writer = Thread.ofPlatform().name("slow-query-log").daemon().start(this::drain);
+    }
+
+    @Override
+    public boolean capturesParameters() {
+        return true;
+    }
+
+    @Override
+    public void executed(String sql, List<Object> parameters, long elapsedNanos) {
+        // EXPLAIN 자체는 기록하지 않는다.
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+        boolean slow = elapsedNanos >= thresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        QueryLog queryLog = QueryLog.current();
+        Pending pending = new Pending(LocalDateTime.now(), elapsedNanos, slow,
+                queryLog == null ? null : queryLog.request(), Thread.currentThread().getName(), sql, parameters.toArray());
+        if (!queue.offer(pending)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public Snapshot snapshot() {
+        List<SlowQuery> queries = new ArrayList<>(ring.length);
+        long total;
+        ringLock.lock();
+        try {
+            total = recorded;
+            for (int i = 1; i <= ring.length; i++) {
+                SlowQuery query = ring[Math.floorMod(next - i, ring.length)];
+                if (query == null) {
+                    break;
+                }
+                queries.add(query);
+            }
+        } finally {
+            ringLock.unlock();
+        }
+        return new Snapshot(threshold, sampleRate, total, dropped.get(), queries);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Pending pending;
+            try {
+                pending = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                write(pending);
+            } catch (RuntimeException e) {
+                log.warn("slow query log entry failed", e);
+            }
+        }
+    }
+
+    private void write(Pending pending) {
+        String plan = pending.slow() && explain ? explain(pending) : null;
+        List<String> parameters = new ArrayList<>(pending.parameters().length);
+        for (Object value : pending.parameters()) {
+            parameters.add(format(value));
+        }
+        SlowQuery query = new SlowQuery(pending.executedAt(), pending.elapsedNanos() / 1_000_000.0, pending.slow(),
+                pending.request(), pending.thread(), pending.sql(), parameters, plan);
+        ringLock.lock();
+        try {
+            ring[next] = query;
+            next = (next + 1) % ring.length;
+            recorded++;
+        } finally {
+            ringLock.unlock();
+        }
+        String elapsed = String.format(Locale.ROOT, "%.1f", query.elapsedMillis());
+        if (query.slow()) {
+            log.warn("slow query {} ms [{}] {} params={}{}", elapsed, query.request(), query.sql(), parameters,
+                    plan == null ? "" : "\n" + plan);
+        } else {
+            log.info("sampled query {} ms [{}] {} params={}", elapsed, query.request(), query.sql(), parameters);
+        }
+    }
+
+    // 같은 바인딩 값으로 EXPLAIN을 실행한다. 계획을 구할 수 없는 SQL(DDL, batch)은 null.
+    private String explain(Pending pending) {
+        if (pending.sql() == null || !EXPLAINABLE.matcher(pending.sql()).find()) {
+            return null;
+        }
+        try {
+            List<String> rows = jdbcTemplate.getObject().query("explain " + pending.sql(),
+                    (rs, rowNum) -> rs.getString(1), pending.parameters());
+            return String.join("\n", rows);
+        } catch (RuntimeException e) {
+            return "explain failed: " + e.getMessage();
+        }
+    }
+
+    private static String format(Object value) {
+        String text = String.valueOf(value);
+        return text.length() <= MAX_VALUE_LENGTH ? text : text.substring(0, MAX_VALUE_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,19 @@
+package com.mysite.sbb.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 SQL을 준비할 때마다 호출되어 현재 스레드의 QueryLog에 기록한다. SQL은 바꾸지 않는다.
+ * (JdbcTemplate으로 직접 실행하는 SQL은 Hibernate를 거치지 않으므로 세지 않는다)
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryLog log = QueryLog.current();
+        if (log != null) {
+            log.record(sql);
+        }
+        return sql;
+    }
+}
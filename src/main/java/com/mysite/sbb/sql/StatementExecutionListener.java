@@ -0,0 +1,24 @@
+package com.mysite.sbb.sql;
+
+import java.util.List;
+
+/**
+ * JDBC 문 실행이 끝날 때마다 TimedDataSource가 호출하는 리스너. 실행한 스레드에서 바로 호출되므로 빨리 끝나야 한다.
+ * 빈으로 등록하면 자동으로 연결된다.
+ */
+@FunctionalInterface
+public interface StatementExecutionListener {
+
+    /**
+     * @param sql          실행한 SQL (batch면 준비한 SQL 한 번, Statement.addBatch로 모은 batch는 null).
+     * @param parameters   바인딩 값 (batch면 마지막 행). capturesParameters()가 true인 리스너가 없으면 빈 목록.
+     *                     호출 중에만 유효하므로 보관하려면 복사한다.
+     * @param elapsedNanos execute 호출에 걸린 시간 (결과 행을 읽는 시간은 포함하지 않는다).
+     */
+    void executed(String sql, List<Object> parameters, long elapsedNanos);
+
+    // 바인딩 값이 필요한 리스너만 true. 하나라도 있으면 PreparedStatement의 set* 호출을 기억한다.
+    default boolean capturesParameters() {
+        return false;
+    }
+}
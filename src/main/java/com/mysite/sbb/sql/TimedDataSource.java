@@ -0,0 +1,155 @@
+package com.mysite.sbb.sql;
+
+import com.mysite.sbb.jfr.StatementEvent;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 커넥션과 문(Statement)을 프록시로 감싸 execute* 호출 시간을 재고 StatementExecutionListener에 알리는 DataSource.
+ * Hibernate와 JdbcTemplate이 실행하는 SQL을 모두 측정한다.
+ * 바인딩 값이 필요한 리스너(느린 쿼리 로그)가 있을 때만 set* 호출 값을 기억한다.
+ * statementEvents가 켜져 있으면(jfr 프로필) JFR 기록 중일 때 실행마다 StatementEvent(SQL 형태)도 남긴다.
+ * 커넥션 풀(Hikari)은 감싸지 않으므로 풀 메트릭과 unwrap은 그대로 동작한다.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private final List<StatementExecutionListener> listeners;
+    private final boolean captureParameters;
+    private final boolean statementEvents;
+
+    public TimedDataSource(DataSource target, List<StatementExecutionListener> listeners, boolean statementEvents) {
+        super(target);
+        this.listeners = List.copyOf(listeners);
+        this.captureParameters = listeners.stream().anyMatch(StatementExecutionListener::capturesParameters);
+        this.statementEvents = statementEvents;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            // prepareStatement/prepareCall(sql, ...)은 SQL을 기억하고, createStatement는 execute(sql)의 인자를 쓴다.
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, null));
+            }
+            return result;
+        });
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        // 바인딩 값 (파라미터 번호 - 1 위치). captureParameters일 때만 채운다.
+        private Object[] parameters = new Object[0];
+        private int parameterCount;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                if (captureParameters) {
+                    capture(method, args);
+                }
+                return TimedDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            StatementEvent event = statementEvents ? new StatementEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            long started = System.nanoTime();
+            try {
+                return TimedDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                if (event != null) {
+                    commit(event, sql, method);
+                }
+                List<Object> bound = Arrays.asList(parameters).subList(0, parameterCount);
+                for (StatementExecutionListener listener : listeners) {
+                    listener.executed(sql, bound, elapsed);
+                }
+            }
+        }
+
+        private static void commit(StatementEvent event, String sql, Method method) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sql = sql == null ? null : QueryLog.normalize(sql);
+                event.batch = method.getName().startsWith("executeBatch")
+                        || method.getName().startsWith("executeLargeBatch");
+                event.commit();
+            }
+        }
+
+        // setXxx(파라미터 번호, 값, ...) 호출을 기억한다. 스트림/LOB은 내용 대신 종류만 남긴다.
+        private void capture(Method method, Object[] args) {
+            String name = method.getName();
+            if ("clearParameters".equals(name)) {
+                Arrays.fill(parameters, null);
+                parameterCount = 0;
+                return;
+            }
+            if (!name.startsWith("set") || args == null || args.length < 2 || !(args[0] instanceof Integer index)) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            Object value = "setNull".equals(name) ? null : args[1];
+            if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+                value = "<" + value.getClass().getSimpleName() + ">";
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
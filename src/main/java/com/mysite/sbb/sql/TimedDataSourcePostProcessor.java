@@ -0,0 +1,36 @@
+package com.mysite.sbb.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * DataSource 빈을 TimedDataSource로 감싼다. StatementExecutionListener 빈이 없고 jfr 프로필도 아니면 그대로 둔다.
+ * (JFR StatementEvent는 실행 시간을 재기 위해 프록시가 필요하므로 연속 기록을 하는 jfr 프로필에서만 켠다)
+ * (BeanPostProcessor는 일찍 만들어지므로 리스너는 DataSource를 감쌀 때 ObjectProvider로 찾는다)
+ */
+@Component
+public class TimedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<StatementExecutionListener> listeners;
+    private final boolean statementEvents;
+
+    public TimedDataSourcePostProcessor(ObjectProvider<StatementExecutionListener> listeners, Environment environment) {
+        this.listeners = listeners;
+        this.statementEvents = environment.acceptsProfiles(Profiles.of("jfr"));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+            List<StatementExecutionListener> found = listeners.orderedStream().toList();
+            return found.isEmpty() && !statementEvents ? bean : new TimedDataSource(dataSource, found, statementEvents);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mysite.sbb.timing;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 요청의 구간별 소요 시간: DB(실행 시간과 SQL 문 수), 마크다운 변환, 템플릿 렌더링, 전체.
+ * ServerTimingFilter가 측정할 요청에만 만들어 현재 스레드에 연결하므로, 연결되지 않은 요청에서는 record* 호출이 아무것도 하지 않는다.
+ * 캐시 로딩처럼 다른 스레드에서 실행되는 작업에도 TaskDecorator로 전달되므로 스레드에 안전하다.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedNanos = System.nanoTime();
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder markdownNanos = new LongAdder();
+    private volatile long renderStartedNanos;
+    private volatile long renderNanos;
+
+    /**
+     * 현재 스레드에 연결된 측정 (없으면 null).
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드에 측정을 연결한다.
+     * @param timing 연결할 측정 (null이면 연결 해제).
+     * @return 이전에 연결되어 있던 측정. 작업이 끝나면 다시 bind 하여 되돌린다.
+     */
+    public static RequestTiming bind(RequestTiming timing) {
+        RequestTiming previous = CURRENT.get();
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+        return previous;
+    }
+
+    // SQL 문 하나의 실행 시간을 더한다.
+    public static void recordQuery(long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.dbNanos.add(elapsedNanos);
+            timing.queries.increment();
+        }
+    }
+
+    // 마크다운 변환 한 번의 시간을 더한다.
+    public static void recordMarkdown(long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.markdownNanos.add(elapsedNanos);
+        }
+    }
+
+    void renderStarted() {
+        renderStartedNanos = System.nanoTime();
+    }
+
+    void renderFinished() {
+        if (renderStartedNanos != 0) {
+            renderNanos = System.nanoTime() - renderStartedNanos;
+        }
+    }
+
+    public long queries() {
+        return queries.sum();
+    }
+
+    /**
+     * Server-Timing 헤더 값. 예: db;dur=3.2;desc="4 queries", md;dur=0.8, render;dur=5.1, total;dur=11.7
+     * 템플릿에서 호출한 마크다운 변환과 지연 로딩 SQL은 render에도 포함된다.
+     */
+    public String header() {
+        return metric("db", dbNanos.sum()) + ";desc=\"" + queries.sum() + " queries\", "
+                + metric("md", markdownNanos.sum()) + ", "
+                + metric("render", renderNanos) + ", "
+                + metric("total", System.nanoTime() - startedNanos);
+    }
+
+    private static String metric(String name, long nanos) {
+        return name + ";dur=" + String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mysite.sbb.timing;
+
+import com.mysite.sbb.sql.StatementExecutionListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Server-Timing 측정 연결.
+ * - DB: TimedDataSource가 SQL 실행마다 현재 요청의 RequestTiming에 시간을 더한다.
+ * - 템플릿 렌더링: 컨트롤러 처리 후(postHandle)부터 뷰 렌더링이 끝날 때(afterCompletion)까지. 레이아웃(layout.html) 적용 포함.
+ * sbb.server-timing.enabled가 켜져 있을 때만 등록한다. 리스너가 등록되면 DataSource가 TimedDataSource로 감싸지므로
+ * 측정하지 않는 요청의 SQL도 프록시를 거친다.
+ */
+@ConditionalOnProperty(name = "sbb.server-timing.enabled", havingValue = "true")
+@Configuration
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    StatementExecutionListener requestTimingStatementListener() {
+        return (sql, parameters, elapsedNanos) -> RequestTiming.recordQuery(elapsedNanos);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                   ModelAndView modelAndView) {
+                RequestTiming timing = RequestTiming.current();
+                if (timing != null && modelAndView != null) {
+                    timing.renderStarted();
+                }
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                RequestTiming timing = RequestTiming.current();
+                if (timing != null) {
+                    timing.renderFinished();
+                }
+            }
+        });
+    }
+}
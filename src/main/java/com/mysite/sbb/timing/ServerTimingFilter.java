@@ -0,0 +1,79 @@
+package com.mysite.sbb.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청의 구간별 소요 시간(RequestTiming)을 Server-Timing 응답 헤더로 보내는 필터. 브라우저 개발자 도구의 Timing 탭에서 볼 수 있다.
+ * 모든 요청을 측정하지 않고, 요청 헤더나 쿠키(이름은 sbb.server-timing.trigger, 값은 on)로 요청했거나
+ * sample-rate 비율로 뽑힌 요청만 측정한다.
+ * 렌더링이 끝난 뒤에 헤더를 쓰려면 응답이 커밋되지 않아야 하므로 측정하는 요청의 본문은 메모리에 버퍼링한다.
+ * 화면 캐시(QuestionPageCacheFilter)에서 응답한 시간까지 포함하도록 그보다 먼저 실행된다.
+ */
+@ConditionalOnProperty(name = "sbb.server-timing.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final String trigger;
+    private final double sampleRate;
+
+    public ServerTimingFilter(@Value("${sbb.server-timing.trigger:X-Server-Timing}") String trigger,
+                              @Value("${sbb.server-timing.sample-rate:0}") double sampleRate) {
+        this.trigger = trigger;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !(requested(request) || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = new RequestTiming();
+        RequestTiming previous = RequestTiming.bind(timing);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.bind(previous);
+            // 오류 페이지 전송(sendError) 등으로 이미 커밋된 응답에는 헤더를 쓸 수 없다.
+            if (!response.isCommitted()) {
+                wrapper.setHeader(HEADER, timing.header());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean requested(HttpServletRequest request) {
+        if ("on".equalsIgnoreCase(request.getHeader(trigger))) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (trigger.equalsIgnoreCase(cookie.getName()) && "on".equalsIgnoreCase(cookie.getValue())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,190 @@
+package com.mysite.sbb.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.user.SiteUser;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 게시판 전체(사용자, 질문, 답변, 추천인)를 NDJSON으로 내보낸다.
+ * 사용자와 질문을 JPA 스트림 쿼리로 읽고, 질문은 chunk-size건마다 답변/추천인을 IN 쿼리로 묶어 조회한 뒤
+ * 줄을 쓰고 EntityManager.clear()로 영속성 컨텍스트를 비운다. 데이터 크기와 관계없이 메모리에는 한 chunk만 남는다.
+ * 2차 캐시를 읽거나 채우지 않도록 캐시 모드는 BYPASS로 둔다.
+ */
+@Slf4j
+@Component
+public class BoardExporter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectWriter writer;
+    private final int chunkSize;
+    private final int fetchSize;
+
+    public BoardExporter(ObjectMapper objectMapper,
+                         @Value("${sbb.transfer.chunk-size:500}") int chunkSize,
+                         @Value("${sbb.transfer.fetch-size:1000}") int fetchSize) {
+        this.writer = objectMapper.writerFor(BoardLine.class);
+        this.chunkSize = chunkSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 게시판 전체를 NDJSON으로 쓴다. (스트림은 닫지 않는다)
+     */
+    @Transactional(readOnly = true)
+    public TransferResult export(OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        Writer output = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Counter counter = new Counter();
+
+        try (Stream<SiteUser> users = stream("select u from SiteUser u order by u.id", SiteUser.class)) {
+            Iterator<SiteUser> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                SiteUser user = iterator.next();
+                write(output, new BoardLine.UserLine(user.getId(), user.getUsername(), user.getEmail(), user.getPassword()));
+                if (++counter.users % chunkSize == 0) {
+                    counter.clear();
+                }
+            }
+        }
+        counter.clear();
+
+        try (Stream<Question> questions = stream(
+                "select q from Question q left join fetch q.author order by q.id", Question.class)) {
+            Iterator<Question> iterator = questions.iterator();
+            List<Question> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    writeQuestions(output, chunk, counter);
+                }
+            }
+            writeQuestions(output, chunk, counter);
+        }
+        output.flush();
+
+        TransferResult result = new TransferResult(counter.users, counter.questions, counter.answers, counter.votes,
+                System.currentTimeMillis() - started, counter.peakManagedEntities);
+        log.info("board exported: {} users, {} questions, {} answers, {} votes in {} ms ({} posts/s, peak {} managed entities)",
+                result.users(), result.questions(), result.answers(), result.votes(), result.elapsedMillis(),
+                result.postsPerSecond(), result.peakManagedEntities());
+        return result;
+    }
+
+    // 질문 한 chunk의 답변과 추천인을 IN 쿼리로 조회하여 질문마다 한 줄씩 쓰고 영속성 컨텍스트를 비운다.
+    private void writeQuestions(Writer output, List<Question> chunk, Counter counter) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Integer> questionIds = chunk.stream().map(Question::getId).toList();
+        Map<Integer, List<Answer>> answers = new HashMap<>();
+        List<Integer> answerIds = new ArrayList<>();
+        for (Answer answer : query("select a from Answer a left join fetch a.author where a.question.id in :ids order by a.id",
+                Answer.class).setParameter("ids", questionIds).getResultList()) {
+            answers.computeIfAbsent(answer.getQuestion().getId(), id -> new ArrayList<>()).add(answer);
+            answerIds.add(answer.getId());
+        }
+        Map<Integer, List<String>> questionVoters = voters("question_voter", "question_id", questionIds);
+        Map<Integer, List<String>> answerVoters = voters("answer_voter", "answer_id", answerIds);
+
+        for (Question question : chunk) {
+            List<BoardLine.AnswerLine> answerLines = new ArrayList<>();
+            for (Answer answer : answers.getOrDefault(question.getId(), List.of())) {
+                List<String> voters = answerVoters.getOrDefault(answer.getId(), List.of());
+                answerLines.add(new BoardLine.AnswerLine(answer.getId(), answer.getContent(), answer.getCreateDate(),
+                        answer.getModifyDate(), username(answer.getAuthor()), voters.size(), voters));
+                counter.votes += voters.size();
+            }
+            List<String> voters = questionVoters.getOrDefault(question.getId(), List.of());
+            write(output, new BoardLine.QuestionLine(question.getId(), question.getSubject(), question.getContent(),
+                    question.getCreateDate(), question.getModifyDate(), username(question.getAuthor()),
+                    voters.size(), voters, answerLines));
+            counter.questions++;
+            counter.answers += answerLines.size();
+            counter.votes += voters.size();
+        }
+        counter.clear();
+        chunk.clear();
+    }
+
+    // 조인 테이블에서 게시글별 추천인 username 목록을 조회한다. (IN 목록이 너무 길어지지 않도록 나누어 조회)
+    private Map<Integer, List<String>> voters(String table, String postColumn, List<Integer> postIds) {
+        Map<Integer, List<String>> result = new HashMap<>();
+        for (int from = 0; from < postIds.size(); from += fetchSize) {
+            List<Integer> ids = postIds.subList(from, Math.min(postIds.size(), from + fetchSize));
+            List<?> rows = entityManager.createNativeQuery("select v." + postColumn + ", u.username from " + table
+                            + " v join site_user u on u.id = v.voter_id where v." + postColumn + " in (:ids) order by v.voter_id")
+                    .setParameter("ids", ids)
+                    .getResultList();
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                result.computeIfAbsent(((Number) columns[0]).intValue(), id -> new ArrayList<>()).add((String) columns[1]);
+            }
+        }
+        return result;
+    }
+
+    private <T> Stream<T> stream(String jpql, Class<T> type) {
+        return query(jpql, type)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private <T> TypedQuery<T> query(String jpql, Class<T> type) {
+        return entityManager.createQuery(jpql, type)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS)
+                .setHint("jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+    }
+
+    private void write(Writer output, BoardLine line) throws IOException {
+        output.write(writer.writeValueAsString(line));
+        output.write('\n');
+    }
+
+    private static String username(SiteUser user) {
+        return user == null ? null : user.getUsername();
+    }
+
+    // 내보낸 건수와 영속성 컨텍스트 최대 크기
+    private final class Counter {
+        long users;
+        long questions;
+        long answers;
+        long votes;
+        int peakManagedEntities;
+
+        void clear() {
+            int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            peakManagedEntities = Math.max(peakManagedEntities, managed);
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.mysite.sbb.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mysite.sbb.CommonUtil;
+import com.mysite.sbb.IdSequenceAligner;
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionListCache;
+import com.mysite.sbb.search.SearchService;
+import com.mysite.sbb.user.SiteUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BoardExporter가 만든 NDJSON 파일을 빈 데이터베이스로 가져온다. (백업 복원, 다른 환경으로 이전)
+ * 파일을 한 줄씩 읽어 chunk-size건씩 모은 뒤 parallelism개의 스레드에서 chunk마다 한 트랜잭션의 JDBC batch insert로 저장한다.
+ * 처리 중인 chunk 수를 제한하여 파일 크기와 관계없이 메모리 사용량이 일정하다.
+ * ID는 파일의 값을 그대로 사용하고, 끝나면 ID 시퀀스와 캐시, 검색 색인을 맞춘다.
+ * 도중에 실패하면 이미 커밋된 chunk의 행을 지워 대상을 다시 빈 상태로 되돌린다. (같은 파일로 처음부터 다시 가져올 수 있음)
+ */
+@Slf4j
+@Component
+public class BoardImporter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CommonUtil commonUtil;
+    private final IdSequenceAligner idSequenceAligner;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final QuestionListCache questionListCache;
+    private final SearchService searchService;
+    private final ObjectReader reader;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public BoardImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, CommonUtil commonUtil,
+                         IdSequenceAligner idSequenceAligner, EntityCacheEvictor entityCacheEvictor,
+                         QuestionListCache questionListCache, SearchService searchService, ObjectMapper objectMapper,
+                         @Value("${sbb.transfer.chunk-size:500}") int chunkSize,
+                         @Value("${sbb.transfer.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.commonUtil = commonUtil;
+        this.idSequenceAligner = idSequenceAligner;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.questionListCache = questionListCache;
+        this.searchService = searchService;
+        this.reader = objectMapper.readerFor(BoardLine.class);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * NDJSON을 읽어 저장한다. (스트림은 닫지 않는다)
+     * @throws IllegalStateException 가져올 데이터베이스에 이미 질문이나 사용자가 있는 경우.
+     */
+    public TransferResult importFrom(InputStream in) throws IOException, InterruptedException {
+        Long existing = jdbcTemplate.queryForObject(
+                "select (select count(*) from question) + (select count(*) from site_user)", Long.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("import target is not empty");
+        }
+        long started = System.currentTimeMillis();
+        Chunks chunks = new Chunks();
+        Map<String, Integer> userIds = new HashMap<>();
+        List<BoardLine.UserLine> users = new ArrayList<>(chunkSize);
+        List<BoardLine.QuestionLine> questions = new ArrayList<>(chunkSize);
+        boolean usersDone = false;
+
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                BoardLine parsed = reader.readValue(line);
+                if (parsed instanceof BoardLine.UserLine user) {
+                    users.add(user);
+                    userIds.put(user.username(), user.id());
+                    if (users.size() == chunkSize) {
+                        chunks.submit(List.copyOf(users), this::insertUsers);
+                        users.clear();
+                    }
+                } else if (parsed instanceof BoardLine.QuestionLine question) {
+                    if (!usersDone) {
+                        // 질문은 작성자/추천인을 외래키로 참조하므로 사용자 저장이 끝난 뒤에 시작한다.
+                        chunks.submit(List.copyOf(users), this::insertUsers);
+                        users.clear();
+                        chunks.await();
+                        usersDone = true;
+                    }
+                    questions.add(question);
+                    if (questions.size() == chunkSize) {
+                        chunks.submit(List.copyOf(questions), chunk -> insertQuestions(chunk, userIds, chunks));
+                        questions.clear();
+                    }
+                }
+            }
+            chunks.submit(List.copyOf(users), this::insertUsers);
+            chunks.submit(List.copyOf(questions), chunk -> insertQuestions(chunk, userIds, chunks));
+            chunks.await();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            // chunk는 각자 커밋되므로 실패하면 일부만 남는다. 남은 행을 지워 다시 가져올 수 있는 빈 상태로 되돌린다.
+            chunks.shutdown();
+            log.error("board import failed after {} questions; removing imported rows", chunks.questions.get(), e);
+            try {
+                discardImported();
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        } finally {
+            chunks.shutdown();
+        }
+
+        // 파일의 ID를 그대로 넣었으므로 시퀀스를 맞추고, JDBC로 쓴 데이터에 맞게 캐시와 색인을 다시 만든다.
+        idSequenceAligner.alignAll();
+        entityCacheEvictor.evictAll(Question.class);
+        entityCacheEvictor.evictAll(Answer.class);
+        entityCacheEvictor.evictAll(SiteUser.class);
+        questionListCache.onQuestionAddedOrRemoved();
+        searchService.rebuild();
+
+        TransferResult result = new TransferResult(userIds.size(), chunks.questions.get(), chunks.answers.get(),
+                chunks.votes.get(), System.currentTimeMillis() - started, 0);
+        log.info("board imported: {} users, {} questions, {} answers, {} votes in {} ms ({} posts/s)",
+                result.users(), result.questions(), result.answers(), result.votes(), result.elapsedMillis(),
+                result.postsPerSecond());
+        return result;
+    }
+
+    // 가져오기 전에 대상이 비어 있었으므로 남은 행은 모두 이번 가져오기가 쓴 것이다. (가져오는 동안 다른 쓰기는 없다고 가정)
+    // 한 문장이 많은 행을 지우며 잠금을 오래 잡지 않도록 외래키 역순으로 chunk-size 크기의 ID 구간씩 지운다.
+    private void discardImported() {
+        // 실패 원인이 인터럽트여도 정리는 끝까지 하고, 인터럽트 상태는 되돌려 둔다.
+        boolean interrupted = Thread.interrupted();
+        try {
+            deleteInRanges("answer_voter", "answer_id");
+            deleteInRanges("answer", "id");
+            deleteInRanges("question_voter", "question_id");
+            deleteInRanges("question", "id");
+            deleteInRanges("site_user", "id");
+            // 가져오는 동안 조회되어 캐시에 들어간 행이 있을 수 있다.
+            entityCacheEvictor.evictAll(Question.class);
+            entityCacheEvictor.evictAll(Answer.class);
+            entityCacheEvictor.evictAll(SiteUser.class);
+            questionListCache.onQuestionAddedOrRemoved();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deleteInRanges(String table, String column) {
+        Integer maxId = jdbcTemplate.queryForObject("select max(" + column + ") from " + table, Integer.class);
+        if (maxId == null) {
+            return;
+        }
+        for (long from = 0; from < maxId; from += chunkSize) {
+            jdbcTemplate.update("delete from " + table + " where " + column + " > ? and " + column + " <= ?",
+                    from, Math.min(from + chunkSize, maxId));
+        }
+    }
+
+    private void insertUsers(List<BoardLine.UserLine> users) {
+        List<Object[]> rows = new ArrayList<>(users.size());
+        for (BoardLine.UserLine user : users) {
+            rows.add(new Object[]{user.id(), user.username(), user.email(), user.password()});
+        }
+        jdbcTemplate.batchUpdate("insert into site_user (id, username, email, password) values (?, ?, ?, ?)", rows);
+    }
+
+    // 질문 한 chunk와 그 답변, 추천을 저장한다. 외래키 순서: 질문 -> 답변 -> 추천
+    private void insertQuestions(List<BoardLine.QuestionLine> questions, Map<String, Integer> userIds, Chunks chunks) {
+        List<Object[]> questionRows = new ArrayList<>(questions.size());
+        List<Object[]> answerRows = new ArrayList<>();
+        List<Object[]> questionVotes = new ArrayList<>();
+        List<Object[]> answerVotes = new ArrayList<>();
+        for (BoardLine.QuestionLine question : questions) {
+            List<BoardLine.AnswerLine> answers = question.answers() == null ? List.of() : question.answers();
+            List<Integer> voters = userIds(question.voters(), userIds);
+            questionRows.add(new Object[]{question.id(), question.subject(), question.content(),
+                    commonUtil.render(question.content()), timestamp(question.createDate()), timestamp(question.modifyDate()),
+                    userIds.get(question.author()), answers.size(), voters.size()});
+            for (int voterId : voters) {
+                questionVotes.add(new Object[]{question.id(), voterId});
+            }
+            for (BoardLine.AnswerLine answer : answers) {
+                List<Integer> answerVoters = userIds(answer.voters(), userIds);
+                answerRows.add(new Object[]{answer.id(), question.id(), answer.content(), commonUtil.render(answer.content()),
+                        timestamp(answer.createDate()), timestamp(answer.modifyDate()), userIds.get(answer.author()),
+                        answerVoters.size()});
+                for (int voterId : answerVoters) {
+                    answerVotes.add(new Object[]{answer.id(), voterId});
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("insert into question (id, subject, content, content_html, create_date, modify_date, "
+                    + "author_id, answer_count, vote_count) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", questionRows);
+            jdbcTemplate.batchUpdate("insert into answer (id, question_id, content, content_html, create_date, modify_date, "
+                    + "author_id, vote_count) values (?, ?, ?, ?, ?, ?, ?, ?)", answerRows);
+            jdbcTemplate.batchUpdate("insert into question_voter (question_id, voter_id) values (?, ?)", questionVotes);
+            jdbcTemplate.batchUpdate("insert into answer_voter (answer_id, voter_id) values (?, ?)", answerVotes);
+        });
+        chunks.questions.addAndGet(questionRows.size());
+        chunks.answers.addAndGet(answerRows.size());
+        chunks.votes.addAndGet(questionVotes.size() + answerVotes.size());
+    }
+
+    // 파일에 없는 사용자는 건너뛴다.
+    private static List<Integer> userIds(List<String> usernames, Map<String, Integer> userIds) {
+        if (usernames == null) {
+            return List.of();
+        }
+        List<Integer> ids = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            Integer id = userIds.get(username);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    private interface ChunkWriter<T> {
+        void write(List<T> chunk);
+    }
+
+    // 병렬 저장 작업. 동시에 처리 중인 chunk를 parallelism의 2배로 제한하여 읽기가 쓰기보다 앞서 나가지 않게 한다.
+    private final class Chunks {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        final Semaphore inFlight = new Semaphore(Math.max(1, parallelism) * 2);
+        final List<Future<?>> futures = new ArrayList<>();
+        final AtomicLong questions = new AtomicLong();
+        final AtomicLong answers = new AtomicLong();
+        final AtomicLong votes = new AtomicLong();
+
+        <T> void submit(List<T> chunk, ChunkWriter<T> writer) throws InterruptedException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            inFlight.acquire();
+            futures.add(executor.submit(() -> {
+                try {
+                    writer.write(chunk);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+            // 끝난 작업은 목록에서 빼되, 실패했으면 바로 중단한다.
+            futures.removeIf(future -> future.isDone() && result(future));
+        }
+
+        void await() throws InterruptedException {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("import failed", e.getCause());
+                }
+            }
+            futures.clear();
+        }
+
+        // 실행 중인 chunk를 중단하고 끝날 때까지 기다린다. (실패 후 남은 행을 지우는 동안 더 쓰지 않도록)
+        void shutdown() {
+            executor.shutdownNow();
+            boolean interrupted = Thread.interrupted();
+            try {
+                while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("waiting for import chunks to stop");
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private boolean result(Future<?> future) {
+            try {
+                future.get();
+                return true;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("import failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mysite.sbb.transfer;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NDJSON 내보내기/가져오기 파일의 한 줄.
+ * 파일은 사용자(user) 줄이 먼저 나오고, 이어서 질문(question) 줄이 답변을 포함하여 한 줄씩 나온다.
+ * 작성자와 추천인은 사용자 ID 대신 username으로 기록한다.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = BoardLine.UserLine.class, name = "user"),
+        @JsonSubTypes.Type(value = BoardLine.QuestionLine.class, name = "question")
+})
+public sealed interface BoardLine {
+
+    record UserLine(int id, String username, String email, String password) implements BoardLine {
+    }
+
+    /**
+     * @param author 작성자 username (작성자가 없으면 null).
+     * @param voters 추천인 username 목록 (voteCount는 이 목록의 크기).
+     */
+    record QuestionLine(int id, String subject, String content, LocalDateTime createDate, LocalDateTime modifyDate,
+                        String author, int voteCount, List<String> voters, List<AnswerLine> answers) implements BoardLine {
+    }
+
+    record AnswerLine(int id, String content, LocalDateTime createDate, LocalDateTime modifyDate,
+                      String author, int voteCount, List<String> voters) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.mysite.sbb.transfer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * 게시판 전체 NDJSON 내보내기/가져오기 관리자용 엔드포인트.
+ * 내보내기는 응답을 스트리밍하고, 가져오기는 요청 본문을 한 줄씩 읽는다. (대용량 파일은 BoardTransferRunner 사용 권장)
+ */
+@RequestMapping("/admin/transfer")
+@RequiredArgsConstructor
+@RestController
+public class BoardTransferController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final BoardExporter boardExporter;
+    private final BoardImporter boardImporter;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> boardExporter.export(out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sbb-board.ndjson\"")
+                .body(body);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import")
+    public TransferResult importBoard(HttpServletRequest request) throws IOException, InterruptedException {
+        return boardImporter.importFrom(request.getInputStream());
+    }
+}
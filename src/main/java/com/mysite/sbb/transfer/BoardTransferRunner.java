@@ -0,0 +1,50 @@
+package com.mysite.sbb.transfer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 명령줄에서 게시판을 NDJSON 파일로 내보내거나 가져온다.
+ * 예: --spring.main.web-application-type=none --sbb.transfer.export-file=board.ndjson
+ *     --spring.main.web-application-type=none --sbb.transfer.import-file=board.ndjson
+ * (웹 서버 없이 실행하면 작업이 끝난 뒤 애플리케이션이 종료된다)
+ * 가져오기는 빈 데이터베이스에만 가능하므로 예제 데이터(TestInitData)보다 먼저 실행한다.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+@RequiredArgsConstructor
+public class BoardTransferRunner implements ApplicationRunner {
+
+    private final BoardExporter boardExporter;
+    private final BoardImporter boardImporter;
+
+    @Value("${sbb.transfer.export-file:}")
+    private String exportFile;
+
+    @Value("${sbb.transfer.import-file:}")
+    private String importFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!importFile.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(importFile))) {
+                boardImporter.importFrom(in);
+            }
+        }
+        if (!exportFile.isBlank()) {
+            try (OutputStream out = Files.newOutputStream(Path.of(exportFile))) {
+                boardExporter.export(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mysite.sbb.transfer;
+
+/**
+ * 내보내기/가져오기 결과.
+ * @param peakManagedEntities 내보내기 중 영속성 컨텍스트에 동시에 있던 엔티티 수의 최댓값 (가져오기는 JDBC로 쓰므로 0).
+ */
+public record TransferResult(long users, long questions, long answers, long votes, long elapsedMillis,
+                             int peakManagedEntities) {
+
+    // 초당 처리한 질문+답변 수
+    public long postsPerSecond() {
+        return (questions + answers) * 1000 / Math.max(1, elapsedMillis);
+    }
+}
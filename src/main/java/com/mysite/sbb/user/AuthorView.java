@@ -0,0 +1,14 @@
+package com.mysite.sbb.user;
+
+/**
+ * 화면 표시용 작성자 정보. 여러 요청이 함께 쓰는 상세 화면 스냅샷에 엔티티 대신 담는다.
+ * @param id       사용자 ID (작성자 여부 비교용).
+ * @param username 사용자명.
+ */
+public record AuthorView(int id, String username) {
+
+    // 작성자가 없으면 null
+    public static AuthorView of(SiteUser user) {
+        return user == null ? null : new AuthorView(user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,30 @@
+package com.mysite.sbb.user;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 로그인 사용자 정보에 SiteUser의 ID와 권한을 함께 담아 두는 UserDetails.
+ * 컨트롤러는 @AuthenticationPrincipal로 이 객체를 받아, 요청마다 사용자명으로 SiteUser를 다시 조회하지 않고
+ * ID만으로 작성자/추천인을 지정하고 작성자 여부를 비교한다.
+ */
+@Getter
+public class SiteUserDetails extends User {
+
+    private final int id;
+    private final UserRole role;
+
+    public SiteUserDetails(SiteUser siteUser, UserRole role, Collection<? extends GrantedAuthority> authorities) {
+        super(siteUser.getUsername(), siteUser.getPassword(), authorities);
+        this.id = siteUser.getId();
+        this.role = role;
+    }
+
+    // 작성자가 있고 그 ID가 로그인 사용자 ID와 같은지 확인 (작성자 엔티티를 로딩하지 않고 프록시의 ID만 사용)
+    public boolean isAuthor(SiteUser author) {
+        return author != null && author.getId() == this.id;
+    }
+}
@@ -1,10 +1,15 @@
 package com.mysite.sbb.user;
 
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<SiteUser, Integer> {
+    // 로그인마다 호출되므로 쿼리 캐시 사용 (hibernate.cache.use_query_cache가 꺼져 있으면 무시됨)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SiteUser> findByUsername(String username);
 }
\ No newline at end of file
@@ -32,4 +32,9 @@ public class UserService {
             throw new DataNotFoundException("siteuser not found");
         }
     }
+
+    // 작성자 지정용 참조(프록시). SELECT 없이 외래 키로 ID만 사용된다.
+    public SiteUser getReference(int id) {
+        return this.userRepository.getReferenceById(id);
+    }
 }
@@ -0,0 +1,11 @@
+package com.mysite.sbb.vote;
+
+/**
+ * 추천 요청 처리 결과.
+ */
+public enum VoteResult {
+    // 새로 추천됨
+    VOTED,
+    // 이미 추천한 사용자 (아무것도 변경되지 않음)
+    ALREADY_VOTED
+}
@@ -0,0 +1,82 @@
+package com.mysite.sbb.vote;
+
+import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.cache.EntityCacheEvictor;
+import com.mysite.sbb.jfr.VoteEvent;
+import com.mysite.sbb.metrics.BoardMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 추천(vote) 쓰기 전용 서비스.
+ * 엔티티의 voter 컬렉션(Set&lt;SiteUser&gt;)을 로딩하지 않고 조인 테이블에 직접 한 행을 insert 한다.
+ * INSERT IGNORE로 (게시글 ID, 추천인 ID) 기본키가 이미 있으면 0건이 반영되므로,
+ * 동시에 같은 사용자가 여러 번 추천해도 예외 없이 한 번만 반영되고 "이미 추천함"을 알 수 있다.
+ * 추천 수 컬럼은 실제로 insert 된 경우에만 같은 트랜잭션 안에서 DB 증가 연산으로 올린다.
+ */
+@RequiredArgsConstructor
+@Service
+public class VoteService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VoterIndex voterIndex;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final BoardMetrics boardMetrics;
+
+    /**
+     * 게시글에 추천을 추가한다.
+     * @param target  추천 대상 종류 (질문/답변).
+     * @param postId  게시글 ID.
+     * @param voterId 추천하는 사용자 ID.
+     * @return 새로 추천되었으면 VOTED, 이미 추천한 사용자면 ALREADY_VOTED.
+     * @throws DataNotFoundException 게시글 또는 사용자가 존재하지 않는 경우.
+     */
+    @Transactional
+    public VoteResult vote(VoteTarget target, int postId, int voterId) {
+        // JFR 기록 중이면 쓰기 시간을 VoteEvent로 남긴다. (트랜잭션 커밋 시간은 포함하지 않는다)
+        VoteEvent event = new VoteEvent();
+        event.begin();
+        VoteResult result = write(target, postId, voterId);
+        event.end();
+        if (event.shouldCommit()) {
+            event.target = target.name();
+            event.postId = postId;
+            event.result = result.name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private VoteResult write(VoteTarget target, int postId, int voterId) {
+        int inserted;
+        try {
+            inserted = jdbcTemplate.update(
+                    "insert ignore into " + target.voterTable + " (" + target.postColumn + ", voter_id) values (?, ?)",
+                    postId, voterId);
+        } catch (DataIntegrityViolationException e) {
+            // 외래키 위반: 존재하지 않는 게시글/사용자
+            throw new DataNotFoundException(target.postTable + " not found");
+        }
+        if (inserted == 0) {
+            boardMetrics.voted(target, VoteResult.ALREADY_VOTED);
+            return VoteResult.ALREADY_VOTED;
+        }
+        jdbcTemplate.update("update " + target.postTable + " set vote_count = vote_count + 1 where id = ?", postId);
+        // Hibernate를 거치지 않은 변경이므로 2차 캐시의 해당 게시글만 커밋 후 제거한다.
+        entityCacheEvictor.evict(target.entityClass, postId);
+        // 커밋이 확정된 뒤에만 메모리 추천인 인덱스에 반영한다.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                voterIndex.onVoted(target, postId, voterId);
+                boardMetrics.voted(target, VoteResult.VOTED);
+            }
+        });
+        return VoteResult.VOTED;
+    }
+}
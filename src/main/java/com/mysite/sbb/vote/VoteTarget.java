@@ -0,0 +1,28 @@
+package com.mysite.sbb.vote;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.question.Question;
+
+/**
+ * 추천 대상 종류와 그에 해당하는 테이블 정보.
+ * 추천 정보는 Question.voter / Answer.voter (@ManyToMany Set) 가 만든 조인 테이블에 저장된다.
+ */
+public enum VoteTarget {
+    QUESTION(Question.class, "question", "question_voter", "question_id"),
+    ANSWER(Answer.class, "answer", "answer_voter", "answer_id");
+
+    // 추천 수를 JDBC로 바꾼 뒤 2차 캐시에서 제거할 엔티티
+    final Class<?> entityClass;
+    // 추천 수(vote_count) 컬럼을 가진 게시글 테이블
+    final String postTable;
+    // 게시글-추천인 조인 테이블. (게시글 ID, voter_id)가 기본키이므로 중복 추천은 DB에서 거부된다.
+    final String voterTable;
+    final String postColumn;
+
+    VoteTarget(Class<?> entityClass, String postTable, String voterTable, String postColumn) {
+        this.entityClass = entityClass;
+        this.postTable = postTable;
+        this.voterTable = voterTable;
+        this.postColumn = postColumn;
+    }
+}
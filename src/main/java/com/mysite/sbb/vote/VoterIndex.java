@@ -0,0 +1,205 @@
+package com.mysite.sbb.vote;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시글별 추천인 ID 집합을 메모리에 보관하는 "이 사용자가 추천했는가" 조회용 인덱스.
+ * 추천인은 SiteUser 엔티티가 아니라 정렬된 int 배열로 저장하여 메모리를 적게 쓰고 이진 탐색으로 조회한다.
+ * 처음 조회될 때 조인 테이블에서 한 번의 IN 쿼리로 채우고(lazy warm-up), 이후에는 VoteService의 추천 커밋 시 갱신된다.
+ * 저장된 추천인 ID 총 개수가 sbb.vote.index.max-voter-ids를 넘으면 가장 오래 사용되지 않은 게시글부터 제거한다.
+ */
+@Component
+public class VoterIndex {
+
+    private static final int[] EMPTY = new int[0];
+    // 쓰기 번호 칸 수 (2의 거듭제곱). 게시글 키를 칸에 나누어 담아 메모리는 일정하게 유지한다.
+    private static final int WRITE_STRIPES = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxVoterIds;
+
+    // 접근 순서(access-order) LinkedHashMap으로 LRU를 구현. 키는 (대상 종류, 게시글 ID)를 합친 long 값.
+    private final LinkedHashMap<Long, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    // 저장된 추천인 ID 총 개수 (추천인이 없는 게시글도 1로 계산하여 빈 항목이 무한히 쌓이지 않게 함)
+    private long storedSize;
+    // 게시글에 추천/삭제가 반영될 때마다 그 게시글 칸의 번호가 증가한다. DB 조회 중에 같은 게시글(또는 같은 칸의 게시글)에
+    // 쓰기가 있으면 그 게시글의 조회 결과만 캐시하지 않는다. (다른 게시글의 추천 때문에 채우기가 버려지지 않음)
+    private final AtomicLongArray writeSequences = new AtomicLongArray(WRITE_STRIPES);
+
+    public VoterIndex(JdbcTemplate jdbcTemplate,
+                      @Value("${sbb.vote.index.max-voter-ids:1000000}") long maxVoterIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxVoterIds = maxVoterIds;
+    }
+
+    /**
+     * 사용자가 게시글을 추천했는지 확인한다.
+     * @param target 추천 대상 종류.
+     * @param postId 게시글 ID.
+     * @param userId 사용자 ID.
+     */
+    public boolean hasVoted(VoteTarget target, int postId, int userId) {
+        return !votedPosts(target, List.of(postId), userId).isEmpty();
+    }
+
+    /**
+     * 여러 게시글 중 사용자가 추천한 게시글 ID를 구한다.
+     * 인덱스에 없는 게시글은 한 번의 IN 쿼리로 채운 뒤 판단한다.
+     * @param target  추천 대상 종류.
+     * @param postIds 확인할 게시글 ID 목록 (예: 상세 화면 한 페이지의 답변).
+     * @param userId  사용자 ID.
+     * @return 사용자가 추천한 게시글 ID 집합 (템플릿에서 답변마다 O(1)로 확인).
+     */
+    public Set<Integer> votedPosts(VoteTarget target, Collection<Integer> postIds, int userId) {
+        if (postIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Map<Integer, int[]> voters = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int postId : postIds) {
+                int[] ids = entries.get(key(target, postId));
+                if (ids == null) {
+                    missing.add(postId);
+                } else {
+                    voters.put(postId, ids);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!missing.isEmpty()) {
+            voters.putAll(load(target, missing));
+        }
+        Set<Integer> voted = new HashSet<>();
+        for (Map.Entry<Integer, int[]> entry : voters.entrySet()) {
+            if (Arrays.binarySearch(entry.getValue(), userId) >= 0) {
+                voted.add(entry.getKey());
+            }
+        }
+        return voted;
+    }
+
+    /**
+     * 추천이 커밋된 후 호출되어, 인덱스에 있는 게시글이면 추천인을 추가한다. (없으면 다음 조회 때 DB에서 채움)
+     */
+    void onVoted(VoteTarget target, int postId, int voterId) {
+        Long key = key(target, postId);
+        writeSequences.incrementAndGet(stripe(key));
+        lock.lock();
+        try {
+            int[] ids = entries.get(key);
+            if (ids == null) {
+                return;
+            }
+            int position = Arrays.binarySearch(ids, voterId);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            int[] updated = new int[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = voterId;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            entries.put(key, updated);
+            storedSize += weight(updated) - weight(ids);
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 게시글이 삭제되었을 때 인덱스에서 제거한다.
+     */
+    public void evict(VoteTarget target, int postId) {
+        Long key = key(target, postId);
+        writeSequences.incrementAndGet(stripe(key));
+        lock.lock();
+        try {
+            int[] removed = entries.remove(key);
+            if (removed != null) {
+                storedSize -= weight(removed);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Integer, int[]> load(VoteTarget target, List<Integer> postIds) {
+        Map<Integer, Long> sequences = new HashMap<>();
+        for (int postId : postIds) {
+            sequences.put(postId, writeSequences.get(stripe(key(target, postId))));
+        }
+        String placeholders = String.join(",", Collections.nCopies(postIds.size(), "?"));
+        Map<Integer, List<Integer>> rows = new HashMap<>();
+        jdbcTemplate.query(
+                "select " + target.postColumn + ", voter_id from " + target.voterTable
+                        + " where " + target.postColumn + " in (" + placeholders + ")",
+                rs -> {
+                    rows.computeIfAbsent(rs.getInt(1), k -> new ArrayList<>()).add(rs.getInt(2));
+                },
+                postIds.toArray());
+        Map<Integer, int[]> loaded = new HashMap<>();
+        for (int postId : postIds) {
+            List<Integer> voterIds = rows.get(postId);
+            int[] ids = voterIds == null ? EMPTY : voterIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+            loaded.put(postId, ids);
+        }
+        lock.lock();
+        try {
+            // 조회하는 사이에 그 게시글에 추천/삭제가 있었다면 결과가 이미 낡았을 수 있으므로 그 게시글만 캐시하지 않는다.
+            for (Map.Entry<Integer, int[]> entry : loaded.entrySet()) {
+                Long key = key(target, entry.getKey());
+                if (writeSequences.get(stripe(key)) != sequences.get(entry.getKey())) {
+                    continue;
+                }
+                int[] previous = entries.put(key, entry.getValue());
+                storedSize += weight(entry.getValue()) - (previous == null ? 0 : weight(previous));
+            }
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    // lock을 잡은 상태에서 호출. 가장 오래 사용되지 않은 게시글부터 제거하여 추천인 ID 총량을 제한한다.
+    private void evictIfNeeded() {
+        Iterator<int[]> iterator = entries.values().iterator();
+        while (storedSize > maxVoterIds && iterator.hasNext()) {
+            storedSize -= weight(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static int weight(int[] ids) {
+        return Math.max(1, ids.length);
+    }
+
+    private static int stripe(long key) {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) & (WRITE_STRIPES - 1);
+    }
+
+    private static Long key(VoteTarget target, int postId) {
+        return ((long) target.ordinal() << 32) | (postId & 0xFFFFFFFFL);
+    }
+}
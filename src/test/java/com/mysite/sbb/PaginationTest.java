@@ -0,0 +1,56 @@
+package com.mysite.sbb;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaginationTest {
+
+    private static Page<Object> page(int number, long totalElements) {
+        return new PageImpl<>(List.of(), PageRequest.of(number, 10), totalElements);
+    }
+
+    @Test
+    @DisplayName("전체 행 수와 관계없이 현재 페이지 주변 번호만 만든다")
+    void t1() {
+        for (long total : new long[]{1_000L, 100_000L, 10_000_000L}) {
+            Pagination pagination = Pagination.ofPage(page(50, total), Pagination.DEFAULT_WINDOW, Integer.MAX_VALUE, null);
+            int lastPage = (int) ((total + 9) / 10) - 1;
+
+            assertThat(pagination.getPages()).hasSizeLessThanOrEqualTo(2 * Pagination.DEFAULT_WINDOW + 1);
+            assertThat(pagination.getPages()).contains(Math.min(50, lastPage));
+            assertThat(pagination.getFirst().page()).isEqualTo(0);
+        }
+        Pagination deep = Pagination.ofPage(page(50, 10_000_000L), Pagination.DEFAULT_WINDOW, Integer.MAX_VALUE, null);
+        assertThat(deep.getPages()).containsExactly(45, 46, 47, 48, 49, 50, 51, 52, 53, 54, 55);
+        assertThat(deep.getLast().page()).isEqualTo(999_999);
+    }
+
+    @Test
+    @DisplayName("번호 이동 제한의 마지막 페이지에서는 다음 링크가 커서로 이어진다")
+    void t2() {
+        Pagination pagination = Pagination.ofPage(page(19, 100_000L), Pagination.DEFAULT_WINDOW, 20, "cursor");
+
+        assertThat(pagination.getPages()).containsExactly(14, 15, 16, 17, 18, 19);
+        assertThat(pagination.getNext().cursor()).isEqualTo("cursor");
+        assertThat(pagination.getNext().dir()).isEqualTo("next");
+        assertThat(pagination.getLast()).isNull();
+    }
+
+    @Test
+    @DisplayName("커서 방식은 번호 없이 처음/이전/다음 링크만 만든다")
+    void t3() {
+        Pagination pagination = Pagination.ofCursor("prev", null);
+
+        assertThat(pagination.getPages()).isEmpty();
+        assertThat(pagination.getPrevious().cursor()).isEqualTo("prev");
+        assertThat(pagination.getNext()).isNull();
+        assertThat(pagination.isEmpty()).isFalse();
+    }
+}
@@ -16,7 +16,7 @@ class SbbApplicationTests {
         for (int i=0; i<=300; i++) {
             String subject = String.format("테스트 데이터입니다:[%03d]", i);
             String content = "테스트 데이터";
-            this.questionService.create(subject, content, null);
+            this.questionService.create(subject, content, null, null);
         }
     }
 
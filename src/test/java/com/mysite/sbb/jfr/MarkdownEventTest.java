@@ -0,0 +1,46 @@
+package com.mysite.sbb.jfr;
+
+import com.mysite.sbb.CommonUtil;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("JFR 기록 중에는 마크다운 변환마다 입력 크기와 캐시 사용 여부를 담은 sbb.Markdown 이벤트가 남는다")
+    void t1() throws Exception {
+        CommonUtil commonUtil = new CommonUtil(10);
+        // 기록을 시작하기 전의 호출은 남지 않는다.
+        commonUtil.render("before");
+
+        Path file = tempDir.resolve("markdown.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MarkdownEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            commonUtil.render("# 제목");
+            commonUtil.markdown("**굵게**");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("sbb.Markdown"))
+                .toList();
+        assertThat(events).hasSize(2);
+        assertThat(events).extracting(event -> event.getInt("inputLength")).containsExactlyInAnyOrder(4, 6);
+        assertThat(events).extracting(event -> event.getBoolean("cached")).containsExactlyInAnyOrder(false, true);
+    }
+}
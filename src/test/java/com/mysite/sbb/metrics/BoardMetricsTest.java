@@ -0,0 +1,49 @@
+package com.mysite.sbb.metrics;
+
+import com.mysite.sbb.vote.VoteResult;
+import com.mysite.sbb.vote.VoteTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final BoardMetrics boardMetrics = new BoardMetrics(registry);
+
+    private double searches(String bucket) {
+        return registry.get("sbb.searches").tag("kw.length", bucket).counter().count();
+    }
+
+    @Test
+    @DisplayName("검색은 검색어 내용이 아니라 길이 구간별로 센다")
+    void t1() {
+        boardMetrics.searched("");
+        boardMetrics.searched("   ");
+        boardMetrics.searched("ab");
+        boardMetrics.searched("  스프링  ");
+        boardMetrics.searched("spring boot");
+        boardMetrics.searched("spring boot jpa");
+
+        assertThat(searches("1-2")).isEqualTo(1);
+        assertThat(searches("3-5")).isEqualTo(1);
+        assertThat(searches("6-10")).isZero();
+        assertThat(searches("11+")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("추천은 대상과 결과(새 추천/이미 추천)별로 센다")
+    void t2() {
+        boardMetrics.voted(VoteTarget.QUESTION, VoteResult.VOTED);
+        boardMetrics.voted(VoteTarget.QUESTION, VoteResult.ALREADY_VOTED);
+        boardMetrics.voted(VoteTarget.ANSWER, VoteResult.VOTED);
+        boardMetrics.voted(VoteTarget.ANSWER, VoteResult.VOTED);
+
+        assertThat(registry.get("sbb.votes").tags("target", "question", "result", "voted").counter().count()).isEqualTo(1);
+        assertThat(registry.get("sbb.votes").tags("target", "question", "result", "already_voted").counter().count()).isEqualTo(1);
+        assertThat(registry.get("sbb.votes").tags("target", "answer", "result", "voted").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mysite.sbb.question;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionCursorTest {
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("인코딩한 커서는 나노초까지 그대로 해석된다")
+    void t1() {
+        QuestionCursor cursor = new QuestionCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789), 42);
+
+        assertThat(QuestionCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("형식이나 값의 범위가 잘못된 커서는 IllegalArgumentException으로 거부한다")
+    void t2() {
+        String[] invalid = {
+                "***",                                  // Base64가 아님
+                encodeRaw("1:2"),                        // 항목 수가 다름
+                encodeRaw("a:0:1"),                      // 숫자가 아님
+                encodeRaw("0:1000000000:1"),             // 나노초 범위 초과
+                encodeRaw("0:-1:1"),                     // 음수 나노초
+                encodeRaw(Long.MAX_VALUE + ":0:1"),      // LocalDateTime 범위를 넘는 초
+                encodeRaw("0:0:99999999999"),            // int 범위를 넘는 ID
+        };
+        for (String cursor : invalid) {
+            assertThatThrownBy(() -> QuestionCursor.decode(cursor)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.answer.AnswerSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionDetailCacheTest {
+
+    // DB 대신 호출 횟수만 세는 로더. 조회가 느린 상황을 흉내 내기 위해 잠시 대기한다.
+    private static class CountingLoader extends QuestionDetailLoader {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader() {
+            super(null, null, null);
+        }
+
+        @Override
+        public QuestionDetail load(int id, int answerPage, AnswerSort sort) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new QuestionDetail(null, null, sort, null);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 질문에 대한 동시 요청은 한 번의 조회를 공유한다")
+    void t1() throws Exception {
+        assertCoalesced(false);
+    }
+
+    @Test
+    @DisplayName("가상 스레드 모드에서 TaskExecutor로 조회해도 동시 요청은 한 번의 조회를 공유한다")
+    void t2() throws Exception {
+        assertCoalesced(true);
+    }
+
+    @Test
+    @DisplayName("조회 중에 무효화되면 그 조회 결과는 이후 요청에 쓰이지 않는다")
+    void t3() throws Exception {
+        CountingLoader loader = new CountingLoader();
+        QuestionDetailCache cache = new QuestionDetailCache(loader, new SimpleAsyncTaskExecutor(), true,
+                100, Duration.ofSeconds(10), Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<QuestionDetail> inFlight = executor.submit(() -> cache.get(1, 0, AnswerSort.LATEST));
+            while (loader.calls.get() == 0) {
+                Thread.sleep(5);
+            }
+            cache.invalidate(1);
+            QuestionDetail fresh = cache.get(1, 0, AnswerSort.LATEST);
+
+            assertThat(fresh).isNotSameAs(inFlight.get());
+            assertThat(loader.calls.get()).isEqualTo(2);
+            assertThat(cache.get(1, 0, AnswerSort.LATEST)).isSameAs(fresh);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void assertCoalesced(boolean virtualThreads) throws Exception {
+        CountingLoader loader = new CountingLoader();
+        QuestionDetailCache cache = new QuestionDetailCache(loader, new SimpleAsyncTaskExecutor(), virtualThreads,
+                100, Duration.ofSeconds(10), Duration.ofSeconds(5));
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<QuestionDetail>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1, 0, AnswerSort.LATEST);
+                }));
+            }
+            start.countDown();
+            QuestionDetail first = results.get(0).get();
+            for (Future<QuestionDetail> result : results) {
+                assertThat(result.get()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat((double) cache.stats().get("coalescingRatio")).isGreaterThan(0.9);
+
+        // 쓰기로 무효화되면 다음 요청은 다시 조회한다.
+        cache.invalidate(1);
+        cache.get(1, 0, AnswerSort.LATEST);
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,196 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.answer.Answer;
+import com.mysite.sbb.answer.AnswerRepository;
+import com.mysite.sbb.search.SearchService;
+import com.mysite.sbb.sql.QueryBudget;
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+// 목록 조회 쿼리 자체를 측정하기 위해 렌더링된 화면 캐시(QuestionPageCacheFilter)는 끈다.
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "sbb.page-cache.enabled=false"})
+@AutoConfigureMockMvc
+class QuestionListQueryTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QuestionListCache questionListCache;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 공유 테스트 DB(db_test)를 쓰는 다른 테스트에 영향을 주지 않도록 만든 질문/답변/사용자와 그 색인을 테스트마다 지운다.
+    private final List<Integer> questionIds = new ArrayList<>();
+    private final List<Integer> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (int id : questionIds) {
+            jdbcTemplate.update("delete from answer where question_id = ?", id);
+            jdbcTemplate.update("delete from question where id = ?", id);
+            searchService.removeQuestion(id);
+        }
+        for (int id : userIds) {
+            jdbcTemplate.update("delete from site_user where id = ?", id);
+        }
+        questionListCache.onQuestionAddedOrRemoved();
+    }
+
+    private long countStatements(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @QueryBudget(2)
+    @DisplayName("목록 화면의 SQL 실행 횟수는 한 페이지의 행 수와 관계없이 일정하다")
+    void t1() throws Exception {
+        long fewRows = countStatements("/question/list");
+
+        // 작성자가 모두 다른 질문을 충분히 추가하여 한 페이지를 가득 채운다.
+        for (int i = 0; i < 15; i++) {
+            SiteUser user = new SiteUser();
+            user.setUsername("list-user-" + i);
+            user.setEmail("list-user-" + i + "@sbb.com");
+            user.setPassword("password");
+            userRepository.save(user);
+            userIds.add(user.getId());
+
+            Question question = new Question();
+            question.setSubject("목록 쿼리 테스트 " + i);
+            question.setContent("내용 " + i);
+            question.setCreateDate(LocalDateTime.now());
+            question.setAuthor(user);
+            questionRepository.save(question);
+            questionIds.add(question.getId());
+        }
+        // 서비스를 거치지 않고 저장했으므로 목록 캐시 세대를 직접 올린다.
+        questionListCache.onQuestionAddedOrRemoved();
+
+        long fullPage = countStatements("/question/list");
+        long secondPage = countStatements("/question/list?page=1");
+        long cursorPage = countStatements("/question/list?cursor="
+                + QuestionCursor.of(questionRepository.findLatest(List.of(0), PageRequest.of(0, 1)).get(0)).encode());
+
+        // 목록 조회 1회 + 전체 건수 조회 1회 (마지막 페이지처럼 건수를 알 수 있으면 Spring Data가 count 쿼리를 생략)
+        // 작성자 N+1 조회가 있다면 작성자가 다른 10개 행이 있는 fullPage에서 11회 이상이 된다.
+        assertThat(fewRows).isLessThanOrEqualTo(2);
+        assertThat(fullPage).isLessThanOrEqualTo(2);
+        assertThat(secondPage).isLessThanOrEqualTo(2);
+        // 커서 방식은 count 쿼리 없이 목록 조회 1회
+        assertThat(cursorPage).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시된 앞쪽 페이지는 전체 건수 조회 없이 ID IN 쿼리 한 번으로 응답한다")
+    void t2() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            searchService.indexQuestion(saveQuestion("목록 캐시 테스트 Cache " + i), null);
+        }
+        questionListCache.onQuestionAddedOrRemoved();
+
+        countStatements("/question/list");
+        long cached = countStatements("/question/list");
+
+        // 검색어 정규화: 앞뒤 공백/대소문자가 달라도 같은 캐시 항목을 사용한다.
+        assertThat(render("/question/list?kw=Cache")).contains("목록 캐시 테스트 Cache 11");
+        // 세대를 올리지 않고 일치하는 질문을 하나 더 색인한다. 캐시를 사용했다면 두 번째 검색에는 보이지 않는다.
+        searchService.indexQuestion(saveQuestion("목록 캐시 테스트 Cache 12"), null);
+        long cachedSearch = countStatements("/question/list?kw=%20%20cache%20");
+        String cachedPage = render("/question/list?kw=%20%20cache%20");
+
+        assertThat(cached).isEqualTo(1);
+        // 색인 검색/전체 건수 조회 없이 캐시된 ID로 목록 항목만 읽는다.
+        assertThat(cachedSearch).isEqualTo(1);
+        assertThat(cachedPage).contains("목록 캐시 테스트 Cache 11").doesNotContain("목록 캐시 테스트 Cache 12");
+
+        // 검색 결과 세대가 바뀌면 새 질문이 검색된다.
+        questionListCache.onSearchableContentChanged();
+        assertThat(render("/question/list?kw=cache")).contains("목록 캐시 테스트 Cache 12");
+    }
+
+    private Question saveQuestion(String subject) {
+        Question question = new Question();
+        question.setSubject(subject);
+        question.setContent("내용");
+        question.setCreateDate(LocalDateTime.now());
+        questionRepository.save(question);
+        questionIds.add(question.getId());
+        return question;
+    }
+
+    private String render(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    @QueryBudget(4)
+    @DisplayName("상세 화면은 답변 작성자가 모두 달라도 작성자/답변을 한 건씩 조회하지 않는다")
+    void t3() throws Exception {
+        Question question = new Question();
+        question.setSubject("상세 쿼리 테스트");
+        question.setContent("내용");
+        question.setCreateDate(LocalDateTime.now());
+        questionRepository.save(question);
+        questionIds.add(question.getId());
+        for (int i = 0; i < 10; i++) {
+            SiteUser user = new SiteUser();
+            user.setUsername("detail-user-" + i);
+            user.setEmail("detail-user-" + i + "@sbb.com");
+            user.setPassword("password");
+            userRepository.save(user);
+            userIds.add(user.getId());
+
+            Answer answer = new Answer();
+            answer.setContent("답변 " + i);
+            answer.setCreateDate(LocalDateTime.now());
+            answer.setQuestion(question);
+            answer.setAuthor(user);
+            answerRepository.save(answer);
+        }
+
+        // 작성자 N+1 조회가 있다면 같은 site_user 조회가 10번 실행되어 @QueryBudget 검사에서 실패한다.
+        mockMvc.perform(get("/question/detail/" + question.getId())).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,99 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuestionPageCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 공유 테스트 DB(db_test)를 쓰는 다른 테스트에 영향을 주지 않도록 만든 행을 테스트마다 지운다.
+    private final List<Integer> questionIds = new ArrayList<>();
+    private final List<Integer> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (int id : questionIds) {
+            jdbcTemplate.update("delete from question_voter where question_id = ?", id);
+            jdbcTemplate.update("delete from question where id = ?", id);
+        }
+        for (int id : userIds) {
+            jdbcTemplate.update("delete from site_user where id = ?", id);
+        }
+    }
+
+    @Test
+    @DisplayName("익명 사용자의 상세 화면은 ETag가 같으면 304, 추천 수가 바뀌면 새 ETag로 응답한다")
+    void t1() throws Exception {
+        Question question = new Question();
+        question.setSubject("ETag 테스트");
+        question.setContent("내용");
+        question.setCreateDate(LocalDateTime.now());
+        questionRepository.save(question);
+        questionIds.add(question.getId());
+        String url = "/question/detail/" + question.getId();
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        SiteUser voter = new SiteUser();
+        voter.setUsername("etag-voter");
+        voter.setEmail("etag-voter@sbb.com");
+        voter.setPassword("password");
+        userRepository.save(voter);
+        userIds.add(voter.getId());
+        questionService.vote(question.getId(), voter.getId());
+
+        String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("int 범위를 넘는 질문 ID는 화면 캐시에서 오류 없이 컨트롤러로 넘어간다")
+    void t2() throws Exception {
+        int status = mockMvc.perform(get("/question/detail/99999999999")).andReturn().getResponse().getStatus();
+        assertThat(status).isBetween(400, 499);
+    }
+}
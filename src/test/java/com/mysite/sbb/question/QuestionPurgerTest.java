@@ -0,0 +1,149 @@
+package com.mysite.sbb.question;
+
+import com.mysite.sbb.DataNotFoundException;
+import com.mysite.sbb.answer.AnswerService;
+import com.mysite.sbb.answer.AnswerSort;
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserRepository;
+import com.mysite.sbb.vote.VoteService;
+import com.mysite.sbb.vote.VoteTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+// 답변 5개 이상이면 백그라운드에서 2개씩 삭제
+@SpringBootTest(properties = {"sbb.question.purge.async-threshold=5", "sbb.question.purge.chunk-size=2"})
+class QuestionPurgerTest {
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private QuestionPurger questionPurger;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 공유 테스트 DB(db_test)를 쓰는 다른 테스트에 영향을 주지 않도록, 삭제가 실패했거나 남은 행(작성자 등)을 테스트마다 지운다.
+    private final List<Integer> questionIds = new ArrayList<>();
+    private final List<Integer> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        // 백그라운드 삭제가 진행 중이면 끝날 때까지 기다린 뒤 지운다.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (questionIds.stream().anyMatch(questionPurger::isPurging) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        for (int id : questionIds) {
+            jdbcTemplate.update("delete from answer_voter where answer_id in (select id from answer where question_id = ?)", id);
+            jdbcTemplate.update("delete from answer where question_id = ?", id);
+            jdbcTemplate.update("delete from question_voter where question_id = ?", id);
+            jdbcTemplate.update("delete from question where id = ?", id);
+        }
+        for (int id : userIds) {
+            jdbcTemplate.update("delete from site_user where id = ?", id);
+        }
+    }
+
+    private Question createThread(String name, int answers) {
+        SiteUser user = new SiteUser();
+        user.setUsername(name);
+        user.setEmail(name + "@sbb.com");
+        user.setPassword("password");
+        userRepository.save(user);
+        userIds.add(user.getId());
+
+        Question question = new Question();
+        question.setSubject(name);
+        question.setContent("삭제 테스트");
+        question.setCreateDate(LocalDateTime.now());
+        question.setAuthor(user);
+        questionRepository.save(question);
+        questionIds.add(question.getId());
+        for (int i = 0; i < answers; i++) {
+            answerService.create(question, "답변 " + i, user, user.getUsername());
+        }
+        voteService.vote(VoteTarget.QUESTION, question.getId(), user.getId());
+        answerIds(question.getId()).forEach(answerId -> voteService.vote(VoteTarget.ANSWER, answerId, user.getId()));
+        return questionService.getQuestion(question.getId());
+    }
+
+    private int rows(String sql, int questionId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, questionId);
+    }
+
+    private List<Integer> answerIds(int questionId) {
+        return jdbcTemplate.queryForList("select id from answer where question_id = ?", Integer.class, questionId);
+    }
+
+    private void assertDeleted(int questionId, List<Integer> answerIds) {
+        assertThat(rows("select count(*) from question where id = ?", questionId)).isZero();
+        assertThat(rows("select count(*) from question_voter where question_id = ?", questionId)).isZero();
+        assertThat(rows("select count(*) from answer where question_id = ?", questionId)).isZero();
+        String in = answerIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from answer_voter where answer_id in (" + in + ")",
+                Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("답변이 적은 질문은 요청 안에서 답변/추천과 함께 바로 삭제된다")
+    void t1() {
+        Question question = createThread("purge-small", 3);
+        List<Integer> answerIds = answerIds(question.getId());
+
+        assertThat(questionService.delete(question)).isFalse();
+
+        assertDeleted(question.getId(), answerIds);
+        assertThatThrownBy(() -> questionService.getQuestion(question.getId())).isInstanceOf(DataNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("답변이 많은 질문은 백그라운드에서 나누어 삭제되고 진행 상황이 기록된다")
+    void t2() throws Exception {
+        Question question = createThread("purge-large", 7);
+        List<Integer> answerIds = answerIds(question.getId());
+
+        assertThat(questionService.delete(question)).isTrue();
+        // 삭제가 끝나기 전에도 조회되지 않는다.
+        assertThatThrownBy(() -> questionService.getQuestionDetail(question.getId(), 0, AnswerSort.LATEST))
+                .isInstanceOf(DataNotFoundException.class);
+        assertThat(questionService.getCursorList(null, false).content())
+                .noneMatch(item -> item.id() == question.getId());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (questionPurger.isPurging(question.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertDeleted(question.getId(), answerIds);
+        QuestionPurger.Progress progress = questionPurger.progress().stream()
+                .filter(p -> p.questionId() == question.getId())
+                .findFirst().orElseThrow();
+        assertThat(progress.state()).isEqualTo(QuestionPurger.State.DONE);
+        assertThat(progress.deletedAnswers()).isEqualTo(7);
+    }
+}
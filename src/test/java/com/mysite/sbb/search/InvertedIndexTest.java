@@ -0,0 +1,95 @@
+package com.mysite.sbb.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static NGramTokenizer.DocumentTerms part(String text, int weight) {
+        NGramTokenizer.DocumentTerms terms = new NGramTokenizer.DocumentTerms();
+        NGramTokenizer.addDocumentTerms(text, weight, terms);
+        return terms;
+    }
+
+    private static List<Integer> ids(InvertedIndex index, String keyword) {
+        return index.search(NGramTokenizer.queryWords(keyword)).stream().map(InvertedIndex.Match::questionId).toList();
+    }
+
+    @Test
+    @DisplayName("모든 검색 단어가 일치하는 질문만 검색된다")
+    void t1() {
+        InvertedIndex index = new InvertedIndex();
+        index.putQuestion(1, part("스프링 부트 설정", 1));
+        index.putQuestion(2, part("스프링 시큐리티", 1));
+
+        assertThat(ids(index, "스프링 부트")).containsExactly(1);
+        assertThat(ids(index, "스프링")).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids(index, "스프링 자바")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("검색 단어의 gram은 한 파트 안에서 연속해야 일치한다")
+    void t2() {
+        InvertedIndex index = new InvertedIndex();
+        // 제목의 "ab"와 답변의 "bc"로는 "abc"가 일치하지 않는다.
+        index.putQuestion(1, part("ab", 4));
+        index.putAnswer(1, 10, part("bc", 1));
+        // 같은 파트라도 떨어져 있으면 일치하지 않는다.
+        index.putQuestion(2, part("ab bc", 1));
+        index.putQuestion(3, part("xabcx", 1));
+
+        List<InvertedIndex.Match> matches = index.search(NGramTokenizer.queryWords("abc"));
+        assertThat(matches).extracting(InvertedIndex.Match::questionId).containsExactly(3);
+        assertThat(matches.get(0).unverified()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("긴 파트에서 위치 서명으로 확정할 수 없는 후보는 확인할 파트와 함께 돌려준다")
+    void t3() {
+        InvertedIndex index = new InvertedIndex();
+        // "ab"는 0, "bc"는 65 위치. 64로 나눈 나머지가 연속(0, 1)이라 서명만으로는 구분할 수 없다.
+        index.putAnswer(1, 10, part("ab" + "-".repeat(63) + "bc", 1));
+
+        List<InvertedIndex.Match> matches = index.search(NGramTokenizer.queryWords("abc"));
+        assertThat(matches).extracting(InvertedIndex.Match::questionId).containsExactly(1);
+        assertThat(matches.get(0).unverified()).containsEntry("abc", List.of(InvertedIndex.partKey(1, 10)));
+        // 한두 글자 단어는 인접 조건이 없으므로 확정이다.
+        assertThat(index.search(NGramTokenizer.queryWords("ab")).get(0).unverified()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("가중치가 큰 필드에서 일치한 질문이 위에 오고, 동점이면 최신 ID가 먼저다")
+    void t4() {
+        InvertedIndex index = new InvertedIndex();
+        index.putQuestion(1, part("검색 엔진", 4));
+        index.putQuestion(2, part("검색 엔진", 1));
+        index.putQuestion(3, part("검색 엔진", 1));
+
+        assertThat(ids(index, "검색")).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    @DisplayName("답변 수정은 그 파트만 바꾸고, 질문 삭제는 모든 파트를 지운다")
+    void t5() {
+        InvertedIndex index = new InvertedIndex();
+        index.putQuestion(1, part("질문", 4));
+        index.putAnswer(1, 10, part("자바 답변", 1));
+        index.putAnswer(1, 11, part("자바 코드", 1));
+        assertThat(ids(index, "자바")).containsExactly(1);
+
+        index.putAnswer(1, 10, part("코틀린 답변", 1));
+        assertThat(ids(index, "코틀린")).containsExactly(1);
+        assertThat(ids(index, "자바")).containsExactly(1);
+        index.putAnswer(1, 11, part("코틀린 코드", 1));
+        assertThat(ids(index, "자바")).isEmpty();
+
+        index.removeQuestion(1);
+        assertThat(ids(index, "코틀린")).isEmpty();
+        assertThat(ids(index, "질문")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
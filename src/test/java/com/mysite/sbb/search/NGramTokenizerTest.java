@@ -0,0 +1,51 @@
+package com.mysite.sbb.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NGramTokenizerTest {
+
+    @Test
+    @DisplayName("한국어는 음절 단위 uni-gram/bi-gram으로 색인하고, 검색 단어는 bi-gram으로 나눈다")
+    void t1() {
+        NGramTokenizer.DocumentTerms terms = new NGramTokenizer.DocumentTerms();
+        NGramTokenizer.addDocumentTerms("스프링부트에서", 1, terms);
+
+        assertThat(terms.terms()).containsKeys("스", "스프", "프링", "링부", "부트", "트에", "에서");
+        assertThat(NGramTokenizer.queryWords("스프링부트")).containsExactly("스프링부트");
+        assertThat(NGramTokenizer.wordGrams("스프링부트")).containsExactly("스프", "프링", "링부", "부트");
+        assertThat(NGramTokenizer.wordGrams("질")).containsExactly("질");
+    }
+
+    @Test
+    @DisplayName("영문은 대소문자/전각을 구분하지 않고, 공백과 기호로 단어를 나눈다")
+    void t2() {
+        assertThat(NGramTokenizer.queryWords("  SPRING boot, spring ")).containsExactly("spring", "boot");
+        assertThat(NGramTokenizer.queryWords("ＳＰＲＩＮＧ")).containsExactly("spring");
+        assertThat(NGramTokenizer.queryWords(" \t")).isEmpty();
+
+        NGramTokenizer.DocumentTerms terms = new NGramTokenizer.DocumentTerms();
+        NGramTokenizer.addDocumentTerms("Spring-Boot", 2, terms);
+        assertThat(terms.terms()).containsKeys("sp", "bo").doesNotContainKey("gb");
+        assertThat(terms.terms().get("sp").weight).isEqualTo(2);
+        assertThat(NGramTokenizer.contains("Spring-Boot", "boot")).isTrue();
+    }
+
+    @Test
+    @DisplayName("gram 위치는 필드를 이어서 세고, 필드 사이에는 한 칸을 띄운다")
+    void t3() {
+        NGramTokenizer.DocumentTerms terms = new NGramTokenizer.DocumentTerms();
+        NGramTokenizer.addDocumentTerms("ab", 4, terms);
+        NGramTokenizer.addDocumentTerms("c", 1, terms);
+
+        assertThat(terms.terms().get("ab").positions).isEqualTo(1L);
+        assertThat(terms.terms().get("b").positions).isEqualTo(1L << 1);
+        assertThat(terms.terms().get("c").positions).isEqualTo(1L << 3);
+        assertThat(terms.exact()).isTrue();
+
+        NGramTokenizer.addDocumentTerms("x".repeat(64), 1, terms);
+        assertThat(terms.exact()).isFalse();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mysite.sbb.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 중 MockMvc로 보낸 요청 하나하나의 SQL 문 수 상한.
+ * 요청이 value개보다 많은 SQL을 실행하거나 N+1 의심 SQL(sbb.sql.counter.n-plus-one-threshold)이 있으면 테스트가 실패한다.
+ * 테스트 메서드나 클래스(@SpringBootTest + @AutoConfigureMockMvc)에 붙인다. 메서드에 붙인 값이 우선한다.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    // 요청 하나의 최대 SQL 문 수
+    int value();
+
+    // true이면 N+1 의심 SQL은 검사하지 않는다.
+    boolean allowNPlusOne() default false;
+}
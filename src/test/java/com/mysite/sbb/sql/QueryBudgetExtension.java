@@ -0,0 +1,60 @@
+package com.mysite.sbb.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * @QueryBudget 검사. 테스트마다 QueryStats에 리스너를 등록하여 QueryCountFilter를 거친 요청의 SQL 기록을 모으고,
+ * 테스트가 끝나면 예산을 넘은 요청과 N+1 의심 SQL을 모아 한 번에 실패로 보고한다.
+ * (저장소를 직접 호출하는 등 요청 밖에서 실행된 SQL은 세지 않는다)
+ */
+class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    private record Recording(QueryStats queryStats, BiConsumer<String, QueryLog> listener, List<String> violations) {
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElseThrow();
+        QueryStats queryStats = SpringExtension.getApplicationContext(context).getBean(QueryStats.class);
+        List<String> violations = new CopyOnWriteArrayList<>();
+        BiConsumer<String, QueryLog> listener = (endpoint, queryLog) -> {
+            if (queryLog.count() > budget.value()) {
+                violations.add(endpoint + ": " + queryLog.count() + " statements (budget " + budget.value() + ") "
+                        + queryLog.statements());
+            }
+            if (!budget.allowNPlusOne()) {
+                for (QueryLog.Suspect suspect : queryLog.suspects(queryStats.getNPlusOneThreshold())) {
+                    violations.add(endpoint + ": N+1 suspect x" + suspect.count() + " " + suspect.sql());
+                }
+            }
+        };
+        queryStats.addListener(listener);
+        context.getStore(NAMESPACE).put(Recording.class, new Recording(queryStats, listener, violations));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Recording recording = context.getStore(NAMESPACE).remove(Recording.class, Recording.class);
+        if (recording == null) {
+            return;
+        }
+        recording.queryStats().removeListener(recording.listener());
+        if (!recording.violations().isEmpty()) {
+            fail("query budget exceeded:\n" + String.join("\n", recording.violations()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mysite.sbb.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryLogTest {
+
+    @Test
+    @DisplayName("파라미터, 리터럴, IN 목록 길이만 다른 SQL은 같은 형태로 정규화된다")
+    void t1() {
+        assertThat(QueryLog.normalize("select * from site_user\n  where id = 3"))
+                .isEqualTo("select * from site_user where id = ?");
+        assertThat(QueryLog.normalize("select * from answer where question_id in (?, ?, ?)"))
+                .isEqualTo("select * from answer where question_id in (?)");
+        assertThat(QueryLog.normalize("select * from question where subject = 'it''s'"))
+                .isEqualTo("select * from question where subject = ?");
+        // 식별자에 포함된 숫자는 바꾸지 않는다.
+        assertThat(QueryLog.normalize("select q1_0.id from question q1_0"))
+                .isEqualTo("select q1_0.id from question q1_0");
+    }
+
+    @Test
+    @DisplayName("같은 형태의 SQL이 기준 횟수 이상 실행되면 N+1 의심으로 보고한다")
+    void t2() {
+        QueryLog log = new QueryLog();
+        log.record("select q.id from question q");
+        for (int id = 1; id <= 3; id++) {
+            log.record("select u.username from site_user u where u.id = " + id);
+        }
+
+        assertThat(log.count()).isEqualTo(4);
+        assertThat(log.suspects(3))
+                .containsExactly(new QueryLog.Suspect("select u.username from site_user u where u.id = ?", 3));
+        assertThat(log.suspects(4)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TaskExecutor 작업에도 요청의 기록이 전달된다")
+    void t3() throws InterruptedException {
+        QueryLog log = new QueryLog();
+        QueryLog previous = QueryLog.bind(log);
+        Runnable decorated;
+        try {
+            decorated = new QueryCountConfig().queryLogTaskDecorator()
+                    .decorate(() -> QueryLog.current().record("select 1"));
+        } finally {
+            QueryLog.bind(previous);
+        }
+        Thread worker = new Thread(decorated);
+        worker.start();
+        worker.join();
+
+        assertThat(log.count()).isEqualTo(1);
+        assertThat(QueryLog.current()).isNull();
+    }
+}
@@ -0,0 +1,29 @@
+package com.mysite.sbb.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "sbb.sql.slow.enabled=false")
+class SlowQueryLogDisabledTest {
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    @Test
+    @DisplayName("느린 쿼리 로그를 끄면 리스너가 없어 DataSource를 JDBC 프록시로 감싸지 않는다")
+    void t1() {
+        assertThat(slowQueryLog.getIfAvailable()).isNull();
+        assertThat(dataSource).isNotInstanceOf(TimedDataSource.class);
+    }
+}
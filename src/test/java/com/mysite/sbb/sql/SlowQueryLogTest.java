@@ -0,0 +1,82 @@
+package com.mysite.sbb.sql;
+
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+// 모든 SQL을 느린 SQL로 취급하여 기록 경로를 확인한다.
+@SpringBootTest(properties = {"sbb.sql.slow.threshold=0ms", "sbb.sql.slow.sample-rate=0", "sbb.page-cache.enabled=false"})
+@AutoConfigureMockMvc
+class SlowQueryLogTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 공유 테스트 DB(db_test)를 쓰는 다른 테스트에 영향을 주지 않도록 만든 질문을 지운다.
+    private Integer questionId;
+
+    @AfterEach
+    void cleanUp() {
+        if (questionId != null) {
+            jdbcTemplate.update("delete from question where id = ?", questionId);
+        }
+    }
+
+    @Test
+    @DisplayName("느린 SQL은 바인딩 값, 호출한 요청, EXPLAIN 계획과 함께 링 버퍼에 남는다")
+    void t1() throws Exception {
+        Question question = new Question();
+        question.setSubject("느린 쿼리 테스트");
+        question.setContent("내용");
+        question.setCreateDate(LocalDateTime.now());
+        int id = questionRepository.save(question).getId();
+        questionId = id;
+        String request = "GET /question/detail/" + id;
+
+        mockMvc.perform(get("/question/detail/" + id)).andExpect(status().isOk());
+
+        // 기록은 별도 스레드에서 처리되므로 잠시 기다린다.
+        Optional<SlowQueryLog.SlowQuery> found = Optional.empty();
+        for (int i = 0; i < 50 && found.isEmpty(); i++) {
+            found = slowQueryLog.snapshot().queries().stream()
+                    .filter(query -> request.equals(query.request()) && query.parameters().contains(String.valueOf(id)))
+                    .findFirst();
+            if (found.isEmpty()) {
+                Thread.sleep(100);
+            }
+        }
+
+        assertThat(found).isPresent();
+        SlowQueryLog.SlowQuery query = found.get();
+        assertThat(query.slow()).isTrue();
+        assertThat(query.sql()).containsIgnoringCase("select");
+        assertThat(query.plan()).isNotBlank().doesNotStartWith("explain failed");
+        // EXPLAIN 자체는 기록되지 않는다.
+        assertThat(slowQueryLog.snapshot().queries())
+                .noneMatch(recorded -> recorded.sql() != null && recorded.sql().startsWith("explain"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mysite.sbb.timing;
+
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+// 렌더링 구간을 측정하기 위해 화면 캐시는 끈다.
+@SpringBootTest(properties = {"sbb.server-timing.enabled=true", "sbb.page-cache.enabled=false"})
+@AutoConfigureMockMvc
+class ServerTimingTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 공유 테스트 DB(db_test)를 쓰는 다른 테스트에 영향을 주지 않도록 만든 질문을 테스트마다 지운다.
+    private final List<Integer> questionIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (int id : questionIds) {
+            jdbcTemplate.update("delete from question where id = ?", id);
+        }
+    }
+
+    private int createQuestion() {
+        Question question = new Question();
+        question.setSubject("Server-Timing 테스트");
+        question.setContent("**굵게** 쓴 내용");
+        question.setCreateDate(LocalDateTime.now());
+        int id = questionRepository.save(question).getId();
+        questionIds.add(id);
+        return id;
+    }
+
+    @Test
+    @DisplayName("요청 헤더로 요청하면 DB/마크다운/렌더링/전체 시간을 Server-Timing 헤더로 보낸다")
+    void t1() throws Exception {
+        int id = createQuestion();
+
+        MvcResult result = mockMvc.perform(get("/question/detail/" + id).header("X-Server-Timing", "on"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(ServerTimingFilter.HEADER);
+        assertThat(header).matches("db;dur=[0-9.]+;desc=\"[1-9][0-9]* queries\", md;dur=[0-9.]+, "
+                + "render;dur=[0-9.]+, total;dur=[0-9.]+");
+        // 헤더를 쓰기 위해 버퍼링한 본문도 그대로 전달된다.
+        assertThat(result.getResponse().getContentAsString()).contains("Server-Timing 테스트");
+    }
+
+    @Test
+    @DisplayName("쿠키로도 요청할 수 있고, 요청하지 않으면(sample-rate=0) 측정하지 않는다")
+    void t2() throws Exception {
+        int id = createQuestion();
+
+        MvcResult withCookie = mockMvc.perform(get("/question/detail/" + id).cookie(new Cookie("X-Server-Timing", "on")))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult plain = mockMvc.perform(get("/question/detail/" + id))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(withCookie.getResponse().getHeader(ServerTimingFilter.HEADER)).startsWith("db;dur=");
+        assertThat(plain.getResponse().getHeader(ServerTimingFilter.HEADER)).isNull();
+    }
+}
@@ -0,0 +1,153 @@
+package com.mysite.sbb.transfer;
+
+import com.mysite.sbb.answer.AnswerService;
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionRepository;
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserRepository;
+import com.mysite.sbb.vote.VoteService;
+import com.mysite.sbb.vote.VoteTarget;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+// 다른 테스트와 데이터가 섞이지 않도록 별도의 메모리 DB를 사용하고, 질문 10건 단위로 내보낸다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer_test;MODE=MySQL",
+        "sbb.transfer.chunk-size=10",
+        "sbb.transfer.parallelism=2"})
+class BoardTransferTest {
+    private static final int USERS = 3;
+    private static final int QUESTIONS = 60;
+    private static final int ANSWERS_PER_QUESTION = 3;
+
+    @Autowired
+    private BoardExporter boardExporter;
+
+    @Autowired
+    private BoardImporter boardImporter;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("내보내기는 chunk 단위로 영속성 컨텍스트를 비우고, 가져온 데이터를 다시 내보내면 같은 파일이 된다")
+    void t1() throws Exception {
+        List<SiteUser> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            SiteUser user = new SiteUser();
+            user.setUsername("transfer-" + i);
+            user.setEmail("transfer-" + i + "@sbb.com");
+            user.setPassword("password");
+            users.add(userRepository.save(user));
+        }
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = new Question();
+            question.setSubject("내보내기 " + i);
+            question.setContent("**내용** " + i);
+            question.setCreateDate(LocalDateTime.now());
+            question.setAuthor(users.get(i % USERS));
+            questionRepository.save(question);
+            for (int j = 0; j < ANSWERS_PER_QUESTION; j++) {
+                answerService.create(question, "답변 " + j, users.get(j % USERS), users.get(j % USERS).getUsername());
+            }
+            voteService.vote(VoteTarget.QUESTION, question.getId(), users.get((i + 1) % USERS).getId());
+        }
+        long answers = count("answer");
+        long votes = count("question_voter") + count("answer_voter");
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        TransferResult export = boardExporter.export(exported);
+
+        assertThat(export.questions()).isEqualTo(count("question"));
+        assertThat(export.answers()).isEqualTo(answers);
+        assertThat(export.votes()).isEqualTo(votes);
+        // 메모리 상한: 한 chunk(질문 10건 + 답변 + 작성자)보다 많은 엔티티가 동시에 관리되지 않는다.
+        long entities = export.users() + export.questions() + export.answers();
+        assertThat(export.peakManagedEntities()).isLessThanOrEqualTo(10 + 10 * ANSWERS_PER_QUESTION + USERS);
+        assertThat(export.peakManagedEntities()).isLessThan((int) entities / 5);
+
+        jdbcTemplate.update("delete from answer_voter");
+        jdbcTemplate.update("delete from question_voter");
+        jdbcTemplate.update("delete from answer");
+        jdbcTemplate.update("delete from question");
+        jdbcTemplate.update("delete from site_user");
+
+        TransferResult imported = boardImporter.importFrom(new ByteArrayInputStream(exported.toByteArray()));
+        assertThat(imported.questions()).isEqualTo(export.questions());
+        assertThat(imported.answers()).isEqualTo(export.answers());
+        assertThat(imported.votes()).isEqualTo(export.votes());
+
+        ByteArrayOutputStream reexported = new ByteArrayOutputStream();
+        boardExporter.export(reexported);
+        assertThat(reexported.toString()).isEqualTo(exported.toString());
+    }
+
+    @Test
+    @DisplayName("가져오기가 도중에 실패하면 이미 커밋된 chunk를 지우고, 고친 파일로 다시 가져올 수 있다")
+    void t2() throws Exception {
+        clear();
+        StringBuilder file = new StringBuilder();
+        file.append("{\"type\":\"user\",\"id\":1,\"username\":\"retry\",\"email\":\"retry@sbb.com\",\"password\":\"password\"}\n");
+        // chunk-size=10이므로 질문 25건 중 앞의 두 chunk는 실패 전에 커밋된다.
+        for (int i = 1; i <= 25; i++) {
+            file.append("{\"type\":\"question\",\"id\":").append(i)
+                    .append(",\"subject\":\"다시 가져오기 ").append(i)
+                    .append("\",\"content\":\"내용\",\"createDate\":\"2024-01-01T00:00:00\",\"author\":\"retry\",")
+                    .append("\"voteCount\":1,\"voters\":[\"retry\"],\"answers\":[{\"id\":").append(i)
+                    .append(",\"content\":\"답변\",\"createDate\":\"2024-01-01T00:00:00\",\"author\":\"retry\",")
+                    .append("\"voteCount\":1,\"voters\":[\"retry\"]}]}\n");
+        }
+        String valid = file.toString();
+
+        byte[] broken = (valid + "{broken\n").getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> boardImporter.importFrom(new ByteArrayInputStream(broken))).isInstanceOf(IOException.class);
+        assertThat(count("site_user") + count("question") + count("answer") + count("question_voter") + count("answer_voter"))
+                .isZero();
+
+        TransferResult imported = boardImporter.importFrom(new ByteArrayInputStream(valid.getBytes(StandardCharsets.UTF_8)));
+        assertThat(imported.questions()).isEqualTo(25);
+        assertThat(imported.answers()).isEqualTo(25);
+        assertThat(count("question")).isEqualTo(25);
+        clear();
+    }
+
+    private void clear() {
+        jdbcTemplate.update("delete from answer_voter");
+        jdbcTemplate.update("delete from question_voter");
+        jdbcTemplate.update("delete from answer");
+        jdbcTemplate.update("delete from question");
+        jdbcTemplate.update("delete from site_user");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
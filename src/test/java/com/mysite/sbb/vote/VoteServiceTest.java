@@ -0,0 +1,114 @@
+package com.mysite.sbb.vote;
+
+import com.mysite.sbb.question.Question;
+import com.mysite.sbb.question.QuestionRepository;
+import com.mysite.sbb.user.SiteUser;
+import com.mysite.sbb.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class VoteServiceTest {
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 공유 테스트 DB(db_test)를 쓰는 다른 테스트에 영향을 주지 않도록 만든 질문, 추천, 사용자를 테스트마다 지운다.
+    private final List<Integer> questionIds = new ArrayList<>();
+    private final List<Integer> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (int id : questionIds) {
+            jdbcTemplate.update("delete from question_voter where question_id = ?", id);
+            jdbcTemplate.update("delete from question where id = ?", id);
+        }
+        for (int id : userIds) {
+            jdbcTemplate.update("delete from site_user where id = ?", id);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 중복 추천해도 추천은 사용자당 정확히 한 번만 반영된다")
+    void t1() throws Exception {
+        Question question = new Question();
+        question.setSubject("동시 추천 테스트");
+        question.setContent("추천 수가 정확해야 합니다.");
+        question.setCreateDate(LocalDateTime.now());
+        questionRepository.save(question);
+        questionIds.add(question.getId());
+
+        int voterCount = 40;
+        int attemptsPerVoter = 5;
+        List<Integer> voterIds = new ArrayList<>();
+        for (int i = 0; i < voterCount; i++) {
+            SiteUser user = new SiteUser();
+            user.setUsername("voter-" + i);
+            user.setEmail("voter-" + i + "@sbb.com");
+            user.setPassword("password");
+            voterIds.add(userRepository.save(user).getId());
+        }
+        userIds.addAll(voterIds);
+
+        // 같은 사용자의 중복 추천이 서로 다른 스레드에서 동시에 실행되도록 모든 작업을 한 번에 출발시킨다.
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<VoteResult>> futures = new ArrayList<>();
+        for (int attempt = 0; attempt < attemptsPerVoter; attempt++) {
+            for (int voterId : voterIds) {
+                Callable<VoteResult> task = () -> {
+                    start.await();
+                    return voteService.vote(VoteTarget.QUESTION, question.getId(), voterId);
+                };
+                futures.add(executor.submit(task));
+            }
+        }
+        start.countDown();
+        int voted = 0;
+        int alreadyVoted = 0;
+        for (Future<VoteResult> future : futures) {
+            if (future.get() == VoteResult.VOTED) {
+                voted++;
+            } else {
+                alreadyVoted++;
+            }
+        }
+        executor.shutdown();
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from question_voter where question_id = ?", Integer.class, question.getId());
+        Integer voteCount = jdbcTemplate.queryForObject(
+                "select vote_count from question where id = ?", Integer.class, question.getId());
+
+        // 유실(lost update)도 중복도 없어야 한다.
+        assertThat(voted).isEqualTo(voterCount);
+        assertThat(alreadyVoted).isEqualTo(voterCount * (attemptsPerVoter - 1));
+        assertThat(rows).isEqualTo(voterCount);
+        assertThat(voteCount).isEqualTo(voterCount);
+    }
+}
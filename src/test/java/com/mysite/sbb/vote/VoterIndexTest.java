@@ -0,0 +1,60 @@
+package com.mysite.sbb.vote;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoterIndexTest {
+
+    // 추천인 조회 쿼리의 게시글 ID를 기록하고 행은 돌려주지 않는 JdbcTemplate. duringQuery는 조회 도중에 실행된다.
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+        final List<List<Object>> queries = new ArrayList<>();
+        Runnable duringQuery = () -> {
+        };
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            queries.add(List.of(args));
+            duringQuery.run();
+        }
+    }
+
+    @Test
+    @DisplayName("채우는 도중 추천이 들어온 게시글은 캐시하지 않고, 같은 조회의 다른 게시글은 캐시한다")
+    void t1() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        VoterIndex index = new VoterIndex(jdbcTemplate, 1000);
+        // 1번 질문을 채우는 조회가 끝나기 전에 1번 질문 추천이 커밋된다.
+        jdbcTemplate.duringQuery = () -> index.onVoted(VoteTarget.QUESTION, 1, 99);
+
+        assertThat(index.votedPosts(VoteTarget.QUESTION, List.of(1, 2), 7)).isEmpty();
+        jdbcTemplate.duringQuery = () -> {
+        };
+
+        // 1번은 낡았을 수 있는 결과를 버렸으므로 다시 읽고, 2번은 캐시된 값을 쓴다.
+        index.votedPosts(VoteTarget.QUESTION, List.of(1, 2), 7);
+        // 경합 없이 채운 뒤에는 둘 다 캐시에서 응답한다.
+        index.votedPosts(VoteTarget.QUESTION, List.of(1, 2), 7);
+
+        assertThat(jdbcTemplate.queries).containsExactly(List.of(1, 2), List.of(1));
+    }
+
+    @Test
+    @DisplayName("채운 뒤의 추천은 캐시된 추천인 목록에 바로 반영된다")
+    void t2() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        VoterIndex index = new VoterIndex(jdbcTemplate, 1000);
+
+        assertThat(index.hasVoted(VoteTarget.ANSWER, 5, 7)).isFalse();
+        index.onVoted(VoteTarget.ANSWER, 5, 7);
+
+        assertThat(index.hasVoted(VoteTarget.ANSWER, 5, 7)).isTrue();
+        assertThat(jdbcTemplate.queries).hasSize(1);
+    }
+}